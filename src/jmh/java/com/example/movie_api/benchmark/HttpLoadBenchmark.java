@@ -0,0 +1,152 @@
+package com.example.movie_api.benchmark;
+
+import com.example.movie_api.MovieApiApplication;
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.service.GenreService;
+import com.example.movie_api.service.MovieBatchService;
+import com.example.movie_api.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * End-to-end HTTP load against the embedded server with request handling on platform
+ * or virtual threads. {@code SampleTime} reports p99 next to the throughput score.
+ *
+ * <p>The {@code virtual} mode needs a Java 21+ forked JVM, e.g.
+ * {@code -Djmh.args="HttpLoadBenchmark -jvm /path/to/jdk-21/bin/java"}; pinned carrier
+ * threads are printed to the fork's stdout by {@code -Djdk.tracePinnedThreads}.</p>
+ *
+ * <p>The {@code reactive*} methods hit the R2DBC endpoints with the same number of
+ * database connections as the JDBC pool, for comparing connection scalability.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class HttpLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threadMode;
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    @Param({"20"})
+    private int genreCount;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private List<Long> genreIds;
+    private long firstMovieId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threadMode);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21+, running on " + Runtime.version());
+        }
+
+        context = new SpringApplicationBuilder(MovieApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + threadMode,
+                        "spring.datasource.hikari.maximum-pool-size=10",
+                        "movie.reactive.pool-size=10",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        GenreService genreService = context.getBean(GenreService.class);
+        genreIds = new ArrayList<>();
+        for (int i = 0; i < genreCount; i++) {
+            GenreDto genre = GenreDto.builder().name("Genre " + i).followerCount(i).build();
+            genreIds.add(genreService.createGenre(genre).getId());
+        }
+
+        Iterator<MovieDto> movies = LongStream.range(0, catalogSize)
+                .mapToObj(i -> MovieDto.builder()
+                        .title("Movie " + i)
+                        .director("Director " + (i % 500))
+                        .rating((i % 101) / 10.0)
+                        .genreId(genreIds.get((int) (i % genreCount)))
+                        .build())
+                .iterator();
+        context.getBean(MovieBatchService.class).ingest(movies);
+        firstMovieId = context.getBean(MovieService.class).findMoviesPage(null, 1, false).getItems().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getMovie() throws IOException, InterruptedException {
+        return get("/movies/" + (firstMovieId + ThreadLocalRandom.current().nextInt(catalogSize)));
+    }
+
+    @Benchmark
+    public int getMoviesPage() throws IOException, InterruptedException {
+        return get("/movies?limit=50");
+    }
+
+    @Benchmark
+    public int getGenre() throws IOException, InterruptedException {
+        return get("/genres/" + randomGenreId());
+    }
+
+    @Benchmark
+    public int getMoviesByGenre() throws IOException, InterruptedException {
+        return get("/movies/genre/" + randomGenreId() + "?limit=50");
+    }
+
+    @Benchmark
+    public int reactiveGetMovie() throws IOException, InterruptedException {
+        return get("/reactive/movies/" + (firstMovieId + ThreadLocalRandom.current().nextInt(catalogSize)));
+    }
+
+    @Benchmark
+    public int reactiveGetMoviesByGenre() throws IOException, InterruptedException {
+        return get("/reactive/movies/genre/" + randomGenreId() + "?limit=50");
+    }
+
+    @Benchmark
+    public int reactiveGetGenre() throws IOException, InterruptedException {
+        return get("/reactive/genres/" + randomGenreId());
+    }
+
+    private long randomGenreId() {
+        return genreIds.get(ThreadLocalRandom.current().nextInt(genreIds.size()));
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.movie_api.benchmark;
+
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.mapper.GenreMapperImpl;
+import com.example.movie_api.mapper.MovieMapperImpl;
+import com.example.movie_api.model.Genre;
+import com.example.movie_api.model.Movie;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final MovieMapperImpl movieMapper = new MovieMapperImpl();
+    private final GenreMapperImpl genreMapper = new GenreMapperImpl();
+
+    private Genre genre;
+    private Movie movie;
+    private MovieDto movieDto;
+    private GenreDto genreDto;
+
+    @Setup
+    public void setUp() {
+        genre = Genre.builder().id(1L).name("Action").followerCount(1000).build();
+        movie = Movie.builder().id(1L).title("The Matrix").director("Wachowski")
+                .rating(8.7).genre(genre).build();
+        movieDto = movieMapper.toDto(movie);
+        genreDto = genreMapper.toDto(genre);
+    }
+
+    @Benchmark
+    public MovieDto movieToDto() {
+        return movieMapper.toDto(movie);
+    }
+
+    @Benchmark
+    public Movie movieToEntity() {
+        return movieMapper.toEntity(movieDto, genre);
+    }
+
+    @Benchmark
+    public GenreDto genreToDto() {
+        return genreMapper.toDto(genre);
+    }
+
+    @Benchmark
+    public Genre genreToEntity() {
+        return genreMapper.toEntity(genreDto);
+    }
+}
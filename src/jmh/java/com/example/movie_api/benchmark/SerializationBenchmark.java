@@ -0,0 +1,70 @@
+package com.example.movie_api.benchmark;
+
+import com.example.movie_api.dto.MovieDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Encoding and decoding a page of movies in each negotiable format. The payload
+ * size of every format is printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<MovieDto>> MOVIE_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1000"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private List<MovieDto> movies;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            default -> new ObjectMapper();
+        };
+        movies = LongStream.range(0, pageSize)
+                .mapToObj(i -> MovieDto.builder()
+                        .id(i + 1)
+                        .title("Movie " + i)
+                        .director("Director " + (i % 500))
+                        .rating((i % 101) / 10.0 + 0.05)
+                        .genreId(i % 20)
+                        .genreName("Genre " + (i % 20))
+                        .build())
+                .toList();
+        encoded = mapper.writeValueAsBytes(movies);
+        System.out.println(format + " payload: " + encoded.length + " bytes for " + pageSize + " movies");
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    public List<MovieDto> decode() throws IOException {
+        return mapper.readValue(encoded, MOVIE_LIST);
+    }
+}
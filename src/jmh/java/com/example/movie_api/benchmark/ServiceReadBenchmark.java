@@ -0,0 +1,109 @@
+package com.example.movie_api.benchmark;
+
+import com.example.movie_api.MovieApiApplication;
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.pagination.CursorPage;
+import com.example.movie_api.service.GenreService;
+import com.example.movie_api.service.MovieBatchService;
+import com.example.movie_api.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Service read paths against an in-memory H2 catalog of {@code catalogSize} movies
+ * spread over {@code genreCount} genres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceReadBenchmark {
+
+    @Param({"1000", "100000"})
+    private int catalogSize;
+
+    @Param({"20"})
+    private int genreCount;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private GenreService genreService;
+    private List<Long> genreIds;
+    private long firstMovieId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(MovieApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + catalogSize,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        movieService = context.getBean(MovieService.class);
+        genreService = context.getBean(GenreService.class);
+
+        genreIds = new ArrayList<>();
+        for (int i = 0; i < genreCount; i++) {
+            GenreDto genre = GenreDto.builder().name("Genre " + i).followerCount(i).build();
+            genreIds.add(genreService.createGenre(genre).getId());
+        }
+
+        Iterator<MovieDto> movies = LongStream.range(0, catalogSize)
+                .mapToObj(i -> MovieDto.builder()
+                        .title("Movie " + i)
+                        .director("Director " + (i % 500))
+                        .rating((i % 101) / 10.0)
+                        .genreId(genreIds.get((int) (i % genreCount)))
+                        .build())
+                .iterator();
+        context.getBean(MovieBatchService.class).ingest(movies);
+        firstMovieId = movieService.findMoviesPage(null, 1, false).getItems().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MovieDto findMovieById() {
+        return movieService.findMovieById(firstMovieId + ThreadLocalRandom.current().nextInt(catalogSize));
+    }
+
+    @Benchmark
+    public CursorPage<MovieDto> findFirstMoviesPage() {
+        return movieService.findMoviesPage(null, 100, false);
+    }
+
+    @Benchmark
+    public List<MovieDto> findMoviesByGenre() {
+        return movieService.findMoviesByGenre(randomGenre());
+    }
+
+    @Benchmark
+    public CursorPage<GenreDto> findGenresPage() {
+        return genreService.findGenresPage(null, 100, false);
+    }
+
+    @Benchmark
+    public GenreDto findGenreById() {
+        return genreService.findGenreById(randomGenre());
+    }
+
+    private Long randomGenre() {
+        return genreIds.get(ThreadLocalRandom.current().nextInt(genreIds.size()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.movie_api.benchmark;
+
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.validation.ValidationReport;
+import com.example.movie_api.validation.ValidationService;
+import com.example.movie_api.validation.ValidationServiceImpl;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final ValidationService validationService = new ValidationServiceImpl();
+
+    /** Share of rows in the batch benchmarks that fail on their rating. */
+    @Param({"0", "10"})
+    private int invalidPercent;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private List<MovieDto> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        batch = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            double rating = i % 100 < invalidPercent ? 11.0 : (i % 101) / 10.0;
+            batch.add(MovieDto.builder()
+                    .title("Movie " + i)
+                    .director("Director " + (i % 50))
+                    .rating(rating)
+                    .genreId((long) (i % 20))
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public void validRating() {
+        validationService.validateRating(7.5);
+    }
+
+    @Benchmark
+    public void invalidRating(Blackhole blackhole) {
+        try {
+            validationService.validateRating(11.0);
+        } catch (IllegalArgumentException ex) {
+            blackhole.consume(ex);
+        }
+    }
+
+    @Benchmark
+    public void validGenreName() {
+        validationService.validateGenreName("Science Fiction");
+    }
+
+    @Benchmark
+    public void validFollowerCount() {
+        validationService.validateFollowerCount(1000);
+    }
+
+    /**
+     * What the bulk import did before: bean validation plus the throwing rating check for each row.
+     */
+    @Benchmark
+    public void batchOfMoviesPerRow(Blackhole blackhole) {
+        for (MovieDto movie : batch) {
+            Set<ConstraintViolation<MovieDto>> violations = validator.validate(movie);
+            blackhole.consume(violations);
+            if (violations.isEmpty()) {
+                try {
+                    validationService.validateRating(movie.getRating());
+                } catch (IllegalArgumentException ex) {
+                    blackhole.consume(ex);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public ValidationReport batchOfMovies() {
+        return validationService.validateMovies(batch);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.movie_api.batch;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the elements of a top-level JSON array one at a time, so a request
+ * body of any size never has to be bound to a {@code List} in memory.
+ */
+public class JsonArrayReader<T> implements Iterator<T>, Closeable {
+
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    private int position;
+    private boolean finished;
+
+    public JsonArrayReader(ObjectMapper objectMapper, InputStream in, Class<T> type) throws IOException {
+        this.parser = objectMapper.getFactory().createParser(in);
+        this.reader = objectMapper.readerFor(type);
+
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Request body must be a JSON array");
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (finished) {
+            return false;
+        }
+
+        try {
+            JsonToken token = parser.currentToken() == JsonToken.START_OBJECT ? JsonToken.START_OBJECT : parser.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                finished = true;
+                return false;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Element " + position + " is not a JSON object");
+            }
+            return true;
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Malformed JSON at element " + position);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            T value = reader.readValue(parser);
+            position++;
+            return value;
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Malformed JSON at element " + position);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
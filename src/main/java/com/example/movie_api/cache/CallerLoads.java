@@ -0,0 +1,50 @@
+package com.example.movie_api.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Reads through an {@link AsyncCache} with the load run on the calling thread,
+ * outside of any map lock, so a virtual thread is never pinned to its carrier while
+ * waiting on JDBC; concurrent misses for the same key wait on the first caller's
+ * future.
+ *
+ * <p>A loader reports a missing row by returning null rather than throwing: Caffeine
+ * drops a null result quietly, while an exceptional future is logged with its stack
+ * trace, which would make every 404 cost a WARN.</p>
+ */
+final class CallerLoads {
+
+    private CallerLoads() {
+    }
+
+    /**
+     * Returns the cached or freshly loaded value, or null when the loader found
+     * nothing; nothing is cached in that case.
+     */
+    static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> loading);
+
+        if (future == loading) {
+            try {
+                loading.complete(loader.apply(key));
+            } catch (RuntimeException ex) {
+                loading.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.MovieChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counters for list resources, used as their ETags. Counters are bumped
+ * when a change is published and again after it commits, like the caches, so a
+ * list read in between cannot keep a tag that outlives the commit. The epoch is
+ * new on every start so tags handed out before a restart never match again.
+ *
+ * <p>Counters live in this instance only and are bumped by local writes alone. With
+ * several instances behind one address, a write on another node leaves these tags
+ * current, and this node keeps answering 304 for the old list. List ETags are
+ * therefore only correct for a single-node deployment. Single-resource tags are built
+ * from entity versions stored in the database instead.</p>
+ */
+@Component
+public class CollectionVersions {
+
+    public static final String GENRES = "genres";
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    public static String genreMovies(Long genreId) {
+        return "genre-movies:" + genreId;
+    }
+
+    public String current(String collection) {
+        return epoch + "-" + counter(collection).get();
+    }
+
+    public void bump(String collection) {
+        counter(collection).incrementAndGet();
+    }
+
+    @EventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        bumpGenreMovies(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterMovieChangeCommitted(MovieChangedEvent event) {
+        bumpGenreMovies(event);
+    }
+
+    @EventListener
+    public void onGenreChanged(GenreChangedEvent event) {
+        bumpGenres(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterGenreChangeCommitted(GenreChangedEvent event) {
+        bumpGenres(event);
+    }
+
+    private void bumpGenreMovies(MovieChangedEvent event) {
+        event.getAffectedGenreIds().forEach(genreId -> bump(genreMovies(genreId)));
+    }
+
+    private void bumpGenres(GenreChangedEvent event) {
+        bump(GENRES);
+        // Movie lists carry the genre name and vanish with the genre.
+        if (event.isRenamed() || event.isDeleted()) {
+            bump(genreMovies(event.getGenreId()));
+        }
+    }
+
+    private AtomicLong counter(String collection) {
+        return counters.computeIfAbsent(collection, key -> new AtomicLong());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.dto.MovieDto;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Cached movie list of one genre, sorted by id. Genres above the configured size
+ * are remembered as {@link #TOO_LARGE} so callers go straight to a seek query.
+ */
+@Value
+public class GenreMovies {
+
+    public static final GenreMovies TOO_LARGE = new GenreMovies(List.of(), false);
+
+    List<MovieDto> movies;
+    boolean complete;
+
+    public static GenreMovies complete(List<MovieDto> movies) {
+        return new GenreMovies(List.copyOf(movies), true);
+    }
+
+    public List<MovieDto> slice(long afterId, int count) {
+        int low = 0;
+        int high = movies.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (movies.get(mid).getId() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return movies.subList(low, Math.min(low + count, movies.size()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.dto.CacheStatsDto;
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Result cache for the movies of a genre, keyed by genre id.
+ *
+ * <p>Entries are dropped for exactly the genres a write touches: once when the
+ * change happens and again after commit, so a reader that loaded the old rows
+ * in between cannot leave them cached. Loads run on the calling thread, see
+ * {@link CallerLoads}.</p>
+ */
+@Component
+public class GenreMoviesCache implements MonitoredCache {
+
+    private final AsyncCache<Long, GenreMovies> cache;
+    private final int maxMoviesPerGenre;
+
+    public GenreMoviesCache(
+            @Value("${movie.cache.genre-movies.max-genres:1000}") long maxGenres,
+            @Value("${movie.cache.genre-movies.max-movies-per-genre:5000}") int maxMoviesPerGenre,
+            @Value("${movie.cache.genre-movies.ttl:10m}") Duration ttl) {
+        this.maxMoviesPerGenre = maxMoviesPerGenre;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxGenres)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns null, without caching anything, when the loader returns null for a missing row.
+     */
+    public GenreMovies get(Long genreId, Function<Long, GenreMovies> loader) {
+        return CallerLoads.get(cache, genreId, loader);
+    }
+
+    public int getMaxMoviesPerGenre() {
+        return maxMoviesPerGenre;
+    }
+
+    public void invalidate(Long genreId) {
+        cache.synchronous().invalidate(genreId);
+    }
+
+    @EventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        event.getAffectedGenreIds().forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterMovieChangeCommitted(MovieChangedEvent event) {
+        event.getAffectedGenreIds().forEach(this::invalidate);
+    }
+
+    @EventListener
+    public void onGenreChanged(GenreChangedEvent event) {
+        invalidate(event.getGenreId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterGenreChangeCommitted(GenreChangedEvent event) {
+        invalidate(event.getGenreId());
+    }
+
+    @Override
+    public String getName() {
+        return "genre-movies";
+    }
+
+    @Override
+    public CacheStatsDto getStats() {
+        return CacheStatsDto.of(cache.synchronous().stats(), cache.synchronous().estimatedSize());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.movie_api.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over long ids. {@link #mightContain} never answers false for an id
+ * that was put, and answers true for an absent id with roughly the configured
+ * probability while no more than the expected number of ids have been put.
+ * Ids cannot be removed. Safe for concurrent puts and reads.
+ */
+public final class IdBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public IdBloomFilter(long expectedIds, double falsePositiveRate) {
+        if (expectedIds < 1) {
+            throw new IllegalArgumentException("Expected ids must be positive");
+        }
+        if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+
+        long bits = (long) Math.ceil(-expectedIds * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedIds * Math.log(2)));
+    }
+
+    public void put(long id) {
+        long hash = mix(id);
+        long step = (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash + i * step) & Long.MAX_VALUE) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(long id) {
+        long hash = mix(id);
+        long step = (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash + i * step) & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getBitCount() {
+        return bitCount;
+    }
+
+    int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * SplitMix64 finalizer; sequential ids land on unrelated bits.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.exception.ResourceNotFoundException;
+import com.example.movie_api.model.Movie;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filters over the existing movie and genre ids, so lookups of ids that were
+ * never created answer 404 without a query.
+ *
+ * <p>Each filter is rebuilt from the table at startup and on a fixed delay, and ids
+ * created here are added as their events are published. Ids above the highest id seen
+ * by the last rebuild are let through. That alone does not cover other instances:
+ * movie ids come from a pooled sequence, so another instance can still insert ids from
+ * a block it allocated before the rebuild, below that mark. Ids within
+ * {@code open-id-blocks} allocation blocks under the mark are therefore let through as
+ * well. A block held open for longer by a mostly idle instance, or a genre inserted by
+ * a transaction that was still open during the rebuild, can be answered 404 by the
+ * other instances until their next rebuild, at most {@code rebuild-interval} later.
+ * Deleted ids stay in the filter until the next rebuild; they only cost the query the
+ * filter would otherwise have saved.</p>
+ */
+@Component
+public class KnownIds {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double falsePositiveRate;
+    private final IdFilter movies;
+    private final IdFilter genres;
+
+    public KnownIds(
+            JdbcTemplate jdbcTemplate,
+            @Value("${catalog.id-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${catalog.id-filter.open-id-blocks:20}") int openIdBlocks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.falsePositiveRate = falsePositiveRate;
+        this.movies = new IdFilter("movies",
+                "select count(*), coalesce(max(id), 0) from movie",
+                "select id from movie where id <= ?",
+                (long) openIdBlocks * Movie.ID_ALLOCATION_SIZE);
+        // Identity ids are assigned one at a time as rows are inserted.
+        this.genres = new IdFilter("genres",
+                "select count(case when not deleted then 1 end), coalesce(max(id), 0) from genre",
+                "select id from genre where not deleted and id <= ?",
+                0);
+    }
+
+    public boolean mightExistMovie(Long id) {
+        return movies.mightContain(id);
+    }
+
+    public boolean mightExistGenre(Long id) {
+        return genres.mightContain(id);
+    }
+
+    public void requireMovie(Long id) {
+        if (!mightExistMovie(id)) {
+            throw ResourceNotFoundException.withoutStackTrace("Movie", id);
+        }
+    }
+
+    public void requireGenre(Long id) {
+        if (!mightExistGenre(id)) {
+            throw ResourceNotFoundException.withoutStackTrace("Genre", id);
+        }
+    }
+
+    public List<IdFilter> getFilters() {
+        return List.of(movies, genres);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(
+            initialDelayString = "${catalog.id-filter.rebuild-interval:1h}",
+            fixedDelayString = "${catalog.id-filter.rebuild-interval:1h}")
+    public void rebuild() {
+        movies.rebuild();
+        genres.rebuild();
+    }
+
+    /**
+     * Ids are added as the row is written and again after commit, when a rebuild
+     * reading the table could otherwise have missed them. A rolled back id left in
+     * the filter is harmless.
+     */
+    @EventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (event.getPrevious() == null) {
+            movies.add(event.getMovieId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterMovieChangeCommitted(MovieChangedEvent event) {
+        onMovieChanged(event);
+    }
+
+    @EventListener
+    public void onGenreChanged(GenreChangedEvent event) {
+        if (event.getPrevious() == null) {
+            genres.add(event.getGenreId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterGenreChangeCommitted(GenreChangedEvent event) {
+        onGenreChanged(event);
+    }
+
+    public final class IdFilter {
+
+        private final String name;
+        private final String statsSql;
+        private final String idsSql;
+        private final long openIdMargin;
+        private final AtomicLong rejections = new AtomicLong();
+
+        /** Null until the first rebuild, when every id is let through. */
+        private volatile Snapshot current;
+        private volatile IdBloomFilter building;
+
+        private IdFilter(String name, String statsSql, String idsSql, long openIdMargin) {
+            this.name = name;
+            this.statsSql = statsSql;
+            this.idsSql = idsSql;
+            this.openIdMargin = openIdMargin;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getRejections() {
+            return rejections.get();
+        }
+
+        boolean mightContain(Long id) {
+            Snapshot snapshot = current;
+            if (id == null || snapshot == null || id > snapshot.checkedUpTo()
+                    || snapshot.filter().mightContain(id)) {
+                return true;
+            }
+            rejections.incrementAndGet();
+            return false;
+        }
+
+        /**
+         * Puts the id into the current filter and any filter being built, and repeats
+         * if a rebuild swapped filters in between.
+         */
+        void add(Long id) {
+            Snapshot snapshot;
+            do {
+                snapshot = current;
+                if (snapshot != null) {
+                    snapshot.filter().put(id);
+                }
+                IdBloomFilter pending = building;
+                if (pending != null) {
+                    pending.put(id);
+                }
+            } while (snapshot != current);
+        }
+
+        synchronized void rebuild() {
+            long[] stats = jdbcTemplate.queryForObject(statsSql,
+                    (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)});
+            // Headroom for ids created before the next rebuild.
+            IdBloomFilter filter = new IdBloomFilter(Math.max(1024, stats[0] * 2), falsePositiveRate);
+            building = filter;
+            try {
+                jdbcTemplate.query(idsSql, rs -> {
+                    filter.put(rs.getLong(1));
+                }, stats[1]);
+                current = new Snapshot(filter, stats[1] - openIdMargin);
+            } finally {
+                building = null;
+            }
+        }
+    }
+
+    /**
+     * Ids above {@code checkedUpTo} may exist without the filter having seen them.
+     */
+    private record Snapshot(IdBloomFilter filter, long checkedUpTo) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.dto.CacheStatsDto;
+
+public interface MonitoredCache {
+
+    String getName();
+
+    CacheStatsDto getStats();
+}
@@ -0,0 +1,95 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.dto.CacheStatsDto;
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Near cache of single movies by id, with their versions. Caffeine's W-TinyLFU policy keeps frequently
+ * read movies when the cache is full, so a scan of cold ids cannot flush the hot ones.
+ *
+ * <p>Invalidation follows {@link GenreMoviesCache}: on the write and again after
+ * commit. A load still running when the entry is dropped is discarded with it.
+ * Cached DTOs are shared between requests and must not be modified.</p>
+ */
+@Component
+public class MovieDtoCache implements MonitoredCache {
+
+    private final AsyncCache<Long, VersionedMovie> cache;
+
+    public MovieDtoCache(
+            @Value("${movie.cache.movies.max-size:10000}") long maxSize,
+            @Value("${movie.cache.movies.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns null, without caching anything, when the loader returns null for a missing row.
+     */
+    public VersionedMovie get(Long id, Function<Long, VersionedMovie> loader) {
+        return CallerLoads.get(cache, id, loader);
+    }
+
+    public void invalidate(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * Drops every cached movie of a genre; their {@code genreName} is stale after a rename.
+     * Loads still running are dropped too, whatever their genre: they may have read the
+     * old name, and which genre they belong to is only known once they finish.
+     */
+    public void invalidateGenre(Long genreId) {
+        cache.asMap().values().removeIf(future -> {
+            VersionedMovie cached = future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+            return cached == null || genreId.equals(cached.getMovie().getGenreId());
+        });
+    }
+
+    @EventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        invalidate(event.getMovieId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterMovieChangeCommitted(MovieChangedEvent event) {
+        invalidate(event.getMovieId());
+    }
+
+    @EventListener
+    public void onGenreChanged(GenreChangedEvent event) {
+        if (event.isRenamed() || event.isDeleted()) {
+            invalidateGenre(event.getGenreId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterGenreChangeCommitted(GenreChangedEvent event) {
+        if (event.isRenamed() || event.isDeleted()) {
+            invalidateGenre(event.getGenreId());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "movies";
+    }
+
+    @Override
+    public CacheStatsDto getStats() {
+        return CacheStatsDto.of(cache.synchronous().stats(), cache.synchronous().estimatedSize());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.event.GenreChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent single-row reads of a hot genre into one query. The shared
+ * DTO is handed to every waiter, so loaders must return a finished object that
+ * nobody modifies afterwards. Movies need no flight of their own: the
+ * {@link MovieDtoCache} future already gives one load per id.
+ */
+@Component
+public class ReadCoalescer {
+
+    private final SingleFlight<Long, VersionedGenre> genres = new SingleFlight<>("genres");
+
+    public VersionedGenre genre(Long id, Supplier<VersionedGenre> loader) {
+        return genres.execute(id, loader);
+    }
+
+    public List<SingleFlight<Long, ?>> getFlights() {
+        return List.of(genres);
+    }
+
+    @EventListener
+    public void onGenreChanged(GenreChangedEvent event) {
+        genres.forget(event.getGenreId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterGenreChangeCommitted(GenreChangedEvent event) {
+        genres.forget(event.getGenreId());
+    }
+}
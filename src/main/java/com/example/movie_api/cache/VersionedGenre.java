@@ -0,0 +1,15 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.dto.GenreDto;
+import lombok.Value;
+
+/**
+ * A genre read together with the revision its ETag is built from: the stored version
+ * plus the follows that were still buffered when {@code genre} was loaded.
+ */
+@Value
+public class VersionedGenre {
+
+    GenreDto genre;
+    String revision;
+}
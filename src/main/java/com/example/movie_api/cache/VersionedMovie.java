@@ -0,0 +1,36 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.dto.MovieDto;
+import lombok.Value;
+
+/**
+ * A movie as cached for single reads, with the versions its ETag is built from, so a
+ * cache hit answers conditional GETs without a query. The genre version is included
+ * because the body carries the genre name, which a rename changes without touching
+ * the movie row.
+ */
+@Value
+public class VersionedMovie {
+
+    MovieDto movie;
+    long version;
+    long genreVersion;
+
+    /**
+     * Constructor expression target for {@code MovieRepository.VERSIONED_MOVIE_SELECT}.
+     */
+    public VersionedMovie(Long id, String title, String director, Double rating,
+                          Long genreId, String genreName, Long version, Long genreVersion) {
+        this(new MovieDto(id, title, director, rating, genreId, genreName), version, genreVersion);
+    }
+
+    public VersionedMovie(MovieDto movie, long version, long genreVersion) {
+        this.movie = movie;
+        this.version = version;
+        this.genreVersion = genreVersion;
+    }
+
+    public String getRevision() {
+        return version + "." + genreVersion;
+    }
+}
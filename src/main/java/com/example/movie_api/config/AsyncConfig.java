@@ -0,0 +1,13 @@
+package com.example.movie_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * {@code @Async} methods run on Boot's {@code applicationTaskExecutor}, which is backed
+ * by virtual threads when the {@code virtual-threads} profile is active.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
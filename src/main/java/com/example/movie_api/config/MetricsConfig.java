@@ -0,0 +1,77 @@
+package com.example.movie_api.config;
+
+import com.example.movie_api.cache.KnownIds;
+import com.example.movie_api.cache.MonitoredCache;
+import com.example.movie_api.cache.ReadCoalescer;
+import com.example.movie_api.service.MovieIngestService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Publishes the in-process caches under the same meter names Micrometer uses for Spring caches.
+     */
+    @Bean
+    public MeterBinder monitoredCacheMetrics(List<MonitoredCache> caches) {
+        return registry -> caches.forEach(cache -> {
+            Gauge.builder("cache.size", cache, c -> c.getStats().getSize())
+                    .tag("cache", cache.getName())
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", cache, c -> c.getStats().getHits())
+                    .tag("cache", cache.getName())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", cache, c -> c.getStats().getMisses())
+                    .tag("cache", cache.getName())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", cache, c -> c.getStats().getEvictions())
+                    .tag("cache", cache.getName())
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Coalescing rate is {@code coalesced / (load + coalesced)} of {@code coalescing.requests}.
+     */
+    @Bean
+    public MeterBinder readCoalescingMetrics(ReadCoalescer readCoalescer) {
+        return registry -> readCoalescer.getFlights().forEach(flight -> {
+            FunctionCounter.builder("coalescing.requests", flight, f -> f.getLoads())
+                    .tag("flight", flight.getName())
+                    .tag("result", "load")
+                    .register(registry);
+            FunctionCounter.builder("coalescing.requests", flight, f -> f.getCoalesced())
+                    .tag("flight", flight.getName())
+                    .tag("result", "coalesced")
+                    .register(registry);
+            Gauge.builder("coalescing.in.flight", flight, f -> f.getInFlight())
+                    .tag("flight", flight.getName())
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder ingestQueueMetrics(MovieIngestService movieIngestService) {
+        return registry -> Gauge.builder("ingest.queue.size", movieIngestService, MovieIngestService::getQueuedRows)
+                .register(registry);
+    }
+
+    /**
+     * Lookups answered 404 by the id filters without a query.
+     */
+    @Bean
+    public MeterBinder idFilterMetrics(KnownIds knownIds) {
+        return registry -> knownIds.getFilters().forEach(filter ->
+                FunctionCounter.builder("id.filter.rejections", filter, f -> f.getRejections())
+                        .tag("filter", filter.getName())
+                        .register(registry));
+    }
+}
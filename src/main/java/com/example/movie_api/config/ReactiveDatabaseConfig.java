@@ -0,0 +1,79 @@
+package com.example.movie_api.config;
+
+import com.example.movie_api.repository.JdbcCatalogRepository;
+import com.example.movie_api.repository.R2dbcCatalogRepository;
+import com.example.movie_api.repository.ReactiveCatalogRepository;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Picks the data access behind the reactive read endpoints. With an H2 datasource
+ * and {@code movie.reactive.r2dbc-enabled} (the default) it reads over R2DBC against
+ * the same database the JPA stack uses; any other datasource falls back to JDBC, so
+ * the application is not tied to H2 by this one feature.
+ */
+@Configuration
+public class ReactiveDatabaseConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(ReactiveCatalogRepository.class)
+    public ReactiveCatalogRepository jdbcCatalogRepository(JdbcTemplate jdbcTemplate) {
+        return new JdbcCatalogRepository(jdbcTemplate);
+    }
+
+    /**
+     * The pool is deliberately not a {@code ConnectionFactory} bean: Boot would
+     * otherwise back off from creating the JDBC DataSource.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.r2dbc.h2.H2ConnectionFactory")
+    @ConditionalOnExpression("'${spring.datasource.url:}'.startsWith('jdbc:h2:') "
+            + "and ${movie.reactive.r2dbc-enabled:true}")
+    static class H2R2dbcConfig {
+
+        private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+
+        private ConnectionPool pool;
+
+        @Bean
+        public DatabaseClient reactiveDatabaseClient(
+                @Value("${spring.datasource.url}") String jdbcUrl,
+                @Value("${spring.datasource.username:sa}") String username,
+                @Value("${spring.datasource.password:}") String password,
+                @Value("${movie.reactive.pool-size:20}") int poolSize) {
+            H2ConnectionFactory connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                    .url(jdbcUrl.substring(H2_JDBC_PREFIX.length()))
+                    .username(username)
+                    .password(password)
+                    .build());
+            pool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                    .initialSize(0)
+                    .maxSize(poolSize)
+                    .build());
+            return DatabaseClient.create(pool);
+        }
+
+        @Bean
+        public ReactiveCatalogRepository r2dbcCatalogRepository(DatabaseClient reactiveDatabaseClient) {
+            return new R2dbcCatalogRepository(reactiveDatabaseClient);
+        }
+
+        @PreDestroy
+        public void closePool() {
+            if (pool != null) {
+                pool.dispose();
+            }
+        }
+    }
+}
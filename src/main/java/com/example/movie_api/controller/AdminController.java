@@ -0,0 +1,37 @@
+package com.example.movie_api.controller;
+
+import com.example.movie_api.cache.MonitoredCache;
+import com.example.movie_api.dto.CacheStatsDto;
+import com.example.movie_api.service.GenreStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("${api.base-path}/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final List<MonitoredCache> caches;
+    private final GenreStatsService genreStatsService;
+
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, CacheStatsDto>> getCacheStats() {
+        Map<String, CacheStatsDto> stats = new TreeMap<>();
+        caches.forEach(cache -> stats.put(cache.getName(), cache.getStats()));
+        return ResponseEntity.ok(stats);
+    }
+
+    @PostMapping("/genre-stats/rebuild")
+    public ResponseEntity<Void> rebuildGenreStats() {
+        genreStatsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
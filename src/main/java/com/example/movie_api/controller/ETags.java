@@ -0,0 +1,82 @@
+package com.example.movie_api.controller;
+
+import com.example.movie_api.exception.PreconditionFailedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Strong entity tags built from entity versions or collection change counters, plus
+ * the field selection, since each selection is its own representation. Conditional
+ * GETs are answered before anything is serialized.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Object... parts) {
+        StringBuilder tag = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                tag.append(':');
+            }
+            tag.append(parts[i]);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * If-None-Match uses weak comparison, so a {@code W/} prefix is ignored.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * Reads the entity version out of a single strong If-Match tag; {@code *} or no header
+     * means any version. Tags handed out by GETs also carry the genre version or follower
+     * count after a dot and the field selection after a colon, which are ignored here
+     * because they are not part of the stored row.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (!tag.startsWith("\"") || !tag.endsWith("\"") || tag.length() < 3) {
+            throw new PreconditionFailedException("If-Match must be a single strong entity tag");
+        }
+
+        String value = tag.substring(1, tag.length() - 1);
+        int end = 0;
+        while (end < value.length() && value.charAt(end) != '.' && value.charAt(end) != ':') {
+            end++;
+        }
+        try {
+            return Long.parseLong(value.substring(0, end));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
+}
@@ -1,10 +1,25 @@
 package com.example.movie_api.controller;
 
+import com.example.movie_api.cache.CollectionVersions;
+import com.example.movie_api.cache.VersionedGenre;
 import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.GenrePurgeDto;
+import com.example.movie_api.dto.GenreStatsDto;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.exception.ResourceNotFoundException;
+import com.example.movie_api.pagination.CursorPage;
+import com.example.movie_api.patch.MergePatch;
+import com.example.movie_api.projection.FieldSelection;
+import com.example.movie_api.service.GenrePurgeService;
 import com.example.movie_api.service.GenreService;
+import com.example.movie_api.service.GenreStatsService;
+import com.example.movie_api.service.TopMoviesService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,6 +31,10 @@ import java.util.List;
 public class GenreController {
 
     private final GenreService genreService;
+    private final GenrePurgeService genrePurgeService;
+    private final TopMoviesService topMoviesService;
+    private final GenreStatsService genreStatsService;
+    private final CollectionVersions collectionVersions;
 
     @PostMapping
     public ResponseEntity<GenreDto> createGenre(@Valid @RequestBody GenreDto genreDto) {
@@ -24,28 +43,103 @@ public class GenreController {
     }
 
     @GetMapping
-    public ResponseEntity<List<GenreDto>> getAllGenres() {
-        List<GenreDto> genres = genreService.findAllGenres();
-        return ResponseEntity.ok(genres);
+    public ResponseEntity<List<GenreDto>> getAllGenres(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean count,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.GENRE_FIELDS);
+        String etag = ETags.of(collectionVersions.current(CollectionVersions.GENRES), after, limit, count, selection);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+
+        CursorPage<GenreDto> page = genreService.findGenresPage(after, limit, count, selection);
+        return PageResponses.ok(page, etag);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<GenreStatsDto>> getAllGenreStats() {
+        List<GenreStatsDto> stats = genreStatsService.findAllStats();
+        return ResponseEntity.ok(stats);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<GenreDto> getGenreById(@PathVariable Long id) {
-        GenreDto genre = genreService.findGenreById(id);
-        return ResponseEntity.ok(genre);
+    public ResponseEntity<GenreDto> getGenreById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.GENRE_FIELDS);
+        VersionedGenre genre = genreService.findVersionedGenre(id);
+        String etag = ETags.of(genre.getRevision(), selection);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(GenreService.project(genre.getGenre(), selection));
+    }
+
+    @GetMapping("/{id}/top")
+    public ResponseEntity<List<MovieDto>> getTopMovies(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int n) {
+        List<MovieDto> movies = topMoviesService.findTopMovies(id, n);
+        return ResponseEntity.ok(movies);
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<GenreStatsDto> getGenreStats(@PathVariable Long id) {
+        GenreStatsDto stats = genreStatsService.findStats(id);
+        return ResponseEntity.ok(stats);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<GenreDto> updateGenre(
             @PathVariable Long id,
-            @Valid @RequestBody GenreDto genreDto) {
-        GenreDto updatedGenre = genreService.updateGenre(id, genreDto);
+            @Valid @RequestBody GenreDto genreDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        GenreDto updatedGenre = genreService.updateGenre(id, genreDto, ETags.expectedVersion(ifMatch));
         return ResponseEntity.ok(updatedGenre);
     }
 
+    @PostMapping("/{id}/followers")
+    public ResponseEntity<Void> followGenre(@PathVariable Long id) {
+        genreService.followGenre(id);
+        return ResponseEntity.accepted().build();
+    }
+
+    @DeleteMapping("/{id}/followers")
+    public ResponseEntity<Void> unfollowGenre(@PathVariable Long id) {
+        genreService.unfollowGenre(id);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchGenre(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        String revision = genreService.patchGenre(id, patch, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.noContent().eTag(ETags.of(revision)).build();
+    }
+
+    /**
+     * The genre disappears as soon as this returns. Its movies are purged in chunks
+     * in the background, with progress under {@code /genres/{id}/purge}.
+     */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteGenre(@PathVariable Long id) {
-        genreService.deleteGenre(id);
+    public ResponseEntity<Void> deleteGenre(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        genreService.deleteGenre(id, ETags.expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping("/{id}/purge")
+    public ResponseEntity<GenrePurgeDto> getGenrePurge(@PathVariable Long id) {
+        GenrePurgeDto purge = genrePurgeService.findPurge(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Genre purge", id));
+        return ResponseEntity.ok(purge);
+    }
 }
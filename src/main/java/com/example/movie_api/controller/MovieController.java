@@ -1,13 +1,41 @@
 package com.example.movie_api.controller;
 
+import com.example.movie_api.batch.JsonArrayReader;
+import com.example.movie_api.cache.CollectionVersions;
+import com.example.movie_api.cache.VersionedMovie;
+import com.example.movie_api.dto.BatchResult;
+import com.example.movie_api.dto.BatchRowResult;
+import com.example.movie_api.dto.BulkDeleteRequest;
+import com.example.movie_api.dto.BulkResult;
+import com.example.movie_api.dto.BulkUpdateRequest;
+import com.example.movie_api.dto.IngestJobDto;
 import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.exception.ResourceNotFoundException;
+import com.example.movie_api.pagination.CursorPage;
+import com.example.movie_api.patch.MergePatch;
+import com.example.movie_api.projection.FieldSelection;
+import com.example.movie_api.service.MovieBatchService;
+import com.example.movie_api.service.MovieBulkService;
+import com.example.movie_api.service.MovieIngestService;
+import com.example.movie_api.service.MovieSearchService;
 import com.example.movie_api.service.MovieService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -16,6 +44,12 @@ import java.util.List;
 public class MovieController {
 
     private final MovieService movieService;
+    private final MovieSearchService movieSearchService;
+    private final MovieBatchService movieBatchService;
+    private final MovieBulkService movieBulkService;
+    private final MovieIngestService movieIngestService;
+    private final CollectionVersions collectionVersions;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<MovieDto> createMovie(@Valid @RequestBody MovieDto movieDto) {
@@ -23,35 +57,156 @@ public class MovieController {
         return new ResponseEntity<>(createdMovie, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResult> createMovies(InputStream body) throws IOException {
+        try (JsonArrayReader<MovieDto> movies = new JsonArrayReader<>(objectMapper, body, MovieDto.class)) {
+            BatchResult result = movieBatchService.ingest(movies);
+            return ResponseEntity.ok(result);
+        }
+    }
+
+    /**
+     * Queues the rows for the background writer and answers straight away;
+     * a full queue answers 503 with {@code Retry-After}.
+     */
+    @PostMapping(value = "/ingest", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IngestJobDto> ingestMovies(InputStream body) throws IOException {
+        IngestJobDto job;
+        try (JsonArrayReader<MovieDto> movies = new JsonArrayReader<>(objectMapper, body, MovieDto.class)) {
+            job = movieIngestService.submit(movies);
+        }
+        URI status = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{jobId}")
+                .buildAndExpand(job.getJobId())
+                .toUri();
+        return ResponseEntity.accepted().location(status).body(job);
+    }
+
+    @GetMapping("/ingest/{jobId}")
+    public ResponseEntity<IngestJobDto> getIngestJob(@PathVariable String jobId) {
+        IngestJobDto job = movieIngestService.findJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ingest job not found with id: " + jobId));
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/ingest/{jobId}/errors")
+    public ResponseEntity<List<BatchRowResult>> getIngestErrors(@PathVariable String jobId) {
+        List<BatchRowResult> errors = movieIngestService.findRejections(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ingest job not found with id: " + jobId));
+        return ResponseEntity.ok(errors);
+    }
+
+    @PostMapping("/bulk-update")
+    public ResponseEntity<BulkResult> updateMovies(@Valid @RequestBody BulkUpdateRequest request) {
+        BulkResult result = movieBulkService.updateMovies(request);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkResult> deleteMovies(@RequestBody BulkDeleteRequest request) {
+        BulkResult result = movieBulkService.deleteMovies(request);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping
-    public ResponseEntity<List<MovieDto>> getAllMovies() {
-        List<MovieDto> movies = movieService.findAllMovies();
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<List<MovieDto>> getAllMovies(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean count,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.MOVIE_FIELDS);
+        CursorPage<MovieDto> page = movieService.findMoviesPage(after, limit, count, selection);
+        return PageResponses.ok(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<MovieDto>> searchMovies(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        CursorPage<MovieDto> page = movieSearchService.search(q, offset, limit);
+        return PageResponses.ok(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMovies() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                movieService.exportMovies(movie -> writeLine(generator, movie));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MovieDto> getMovieById(@PathVariable Long id) {
-        MovieDto movie = movieService.findMovieById(id);
-        return ResponseEntity.ok(movie);
+    public ResponseEntity<MovieDto> getMovieById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.MOVIE_FIELDS);
+        VersionedMovie movie = movieService.findVersionedMovie(id);
+        String etag = ETags.of(movie.getRevision(), selection);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(MovieService.project(movie.getMovie(), selection));
     }
 
     @GetMapping("/genre/{genreId}")
-    public ResponseEntity<List<MovieDto>> getMoviesByGenre(@PathVariable Long genreId) {
-        List<MovieDto> movies = movieService.findMoviesByGenre(genreId);
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<List<MovieDto>> getMoviesByGenre(
+            @PathVariable Long genreId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean count,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.MOVIE_FIELDS);
+        String etag = ETags.of(collectionVersions.current(CollectionVersions.genreMovies(genreId)),
+                after, limit, count, selection);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+
+        CursorPage<MovieDto> page = movieService.findMoviesByGenrePage(genreId, after, limit, count, selection);
+        return PageResponses.ok(page, etag);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<MovieDto> updateMovie(
             @PathVariable Long id,
-            @Valid @RequestBody MovieDto movieDto) {
-        MovieDto updatedMovie = movieService.updateMovie(id, movieDto);
+            @Valid @RequestBody MovieDto movieDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MovieDto updatedMovie = movieService.updateMovie(id, movieDto, ETags.expectedVersion(ifMatch));
         return ResponseEntity.ok(updatedMovie);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchMovie(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        long version = movieService.patchMovie(id, patch, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.noContent().eTag(ETags.of(version)).build();
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteMovie(@PathVariable Long id) {
-        movieService.deleteMovie(id);
+    public ResponseEntity<Void> deleteMovie(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        movieService.deleteMovie(id, ETags.expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    private void writeLine(JsonGenerator generator, MovieDto movie) {
+        try {
+            generator.writeObject(movie);
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
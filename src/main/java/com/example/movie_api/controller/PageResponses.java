@@ -0,0 +1,50 @@
+package com.example.movie_api.controller;
+
+import com.example.movie_api.pagination.CursorPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Keeps list bodies as plain JSON arrays and carries paging metadata in headers.
+ */
+final class PageResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private PageResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        return ok(page, null);
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page, String etag) {
+        return ok(page, etag, ServletUriComponentsBuilder.fromCurrentRequest());
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page, String etag, UriComponentsBuilder self) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+
+        if (page.hasNext()) {
+            String next = self.cloneBuilder()
+                    .replaceQueryParam("after", page.getNextCursor())
+                    .toUriString();
+            headers.set(NEXT_CURSOR_HEADER, page.getNextCursor());
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+
+        if (page.getApproximateTotal() != null) {
+            headers.set(TOTAL_COUNT_HEADER, String.valueOf(page.getApproximateTotal()));
+        }
+
+        return ResponseEntity.ok().headers(headers).body(page.getItems());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.movie_api.controller;
+
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.service.ReactiveCatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive variants of the movie and genre reads. The request thread is released
+ * while the query runs and the response is completed through servlet async, so
+ * errors still go through {@code GlobalExceptionHandler}.
+ */
+@RestController
+@RequestMapping("${api.base-path}/reactive")
+@RequiredArgsConstructor
+public class ReactiveCatalogController {
+
+    private final ReactiveCatalogService catalogService;
+
+    @GetMapping("/movies/{id}")
+    public Mono<ResponseEntity<MovieDto>> getMovieById(@PathVariable Long id) {
+        return catalogService.findMovieById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/movies/genre/{genreId}")
+    public Mono<ResponseEntity<List<MovieDto>>> getMoviesByGenre(
+            @PathVariable Long genreId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        // The request is no longer bound to the thread once the query completes.
+        UriComponentsBuilder self = ServletUriComponentsBuilder.fromCurrentRequest();
+        return catalogService.findMoviesByGenrePage(genreId, after, limit)
+                .map(page -> PageResponses.ok(page, null, self));
+    }
+
+    @GetMapping("/genres")
+    public Mono<ResponseEntity<List<GenreDto>>> getAllGenres(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        UriComponentsBuilder self = ServletUriComponentsBuilder.fromCurrentRequest();
+        return catalogService.findGenresPage(after, limit)
+                .map(page -> PageResponses.ok(page, null, self));
+    }
+
+    @GetMapping("/genres/{id}")
+    public Mono<ResponseEntity<GenreDto>> getGenreById(@PathVariable Long id) {
+        return catalogService.findGenreById(id).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.movie_api.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchResult {
+
+    private int created;
+    private int rejected;
+
+    /**
+     * Set when the body could not be read to the end; rows before that point were still processed.
+     */
+    private String error;
+
+    @Builder.Default
+    private List<BatchRowResult> rows = new ArrayList<>();
+
+    public void add(BatchRowResult row) {
+        rows.add(row);
+        if (row.getStatus() == BatchRowResult.Status.CREATED) {
+            created++;
+        } else {
+            rejected++;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.movie_api.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchRowResult {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        REJECTED
+    }
+
+    private int index;
+    private Status status;
+    private Long id;
+    private String error;
+
+    public static BatchRowResult created(int index, Long id) {
+        return new BatchRowResult(index, Status.CREATED, id, null);
+    }
+
+    public static BatchRowResult updated(int index, Long id) {
+        return new BatchRowResult(index, Status.UPDATED, id, null);
+    }
+
+    public static BatchRowResult rejected(int index, String error) {
+        return new BatchRowResult(index, Status.REJECTED, null, error);
+    }
+}
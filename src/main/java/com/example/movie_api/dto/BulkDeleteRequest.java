@@ -0,0 +1,35 @@
+package com.example.movie_api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Either an explicit id list or a filter. A filter needs at least one criterion,
+ * so an empty body can never delete the whole catalog.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteRequest {
+
+    private List<Long> ids;
+
+    private Long genreId;
+
+    /** Case-insensitive exact match. */
+    private String director;
+
+    /** Deletes movies rated at or below this value. */
+    private Double maxRating;
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean hasFilter() {
+        return genreId != null || director != null || maxRating != null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.movie_api.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkResult {
+
+    @Builder.Default
+    private List<Long> affectedIds = new ArrayList<>();
+
+    /**
+     * Requested ids without a movie; always empty for filter requests.
+     */
+    @Builder.Default
+    private List<Long> notFoundIds = new ArrayList<>();
+}
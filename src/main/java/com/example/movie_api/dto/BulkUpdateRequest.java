@@ -0,0 +1,27 @@
+package com.example.movie_api.dto;
+
+import com.example.movie_api.validation.ValidationMessages;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Sets the same rating and/or genre on every listed movie; null fields are left unchanged.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateRequest {
+
+    @NotEmpty(message = "Movie ids cannot be empty")
+    private List<Long> ids;
+
+    @DecimalMin(value = "0.0", message = ValidationMessages.RATING_RANGE)
+    @DecimalMax(value = "10.0", message = ValidationMessages.RATING_RANGE)
+    private Double rating;
+
+    private Long genreId;
+}
@@ -0,0 +1,27 @@
+package com.example.movie_api.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDto {
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private double hitRate;
+
+    public static CacheStatsDto of(CacheStats stats, long size) {
+        return CacheStatsDto.builder()
+                .size(size)
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .evictions(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.movie_api.dto;
 
+import com.example.movie_api.validation.ValidationMessages;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -10,14 +12,15 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class GenreDto {
 
     private Long id;
 
-    @NotBlank(message = "Genre name cannot be blank")
+    @NotBlank(message = ValidationMessages.GENRE_NAME_BLANK)
     private String name;
 
-    @NotNull(message = "Follower count cannot be null")
-    @Min(value = 0, message = "Follower count must be non-negative")
+    @NotNull(message = ValidationMessages.FOLLOWER_COUNT_NULL)
+    @Min(value = 0, message = ValidationMessages.FOLLOWER_COUNT_NEGATIVE)
     private Integer followerCount;
 }
\ No newline at end of file
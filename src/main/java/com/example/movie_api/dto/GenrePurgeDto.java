@@ -0,0 +1,30 @@
+package com.example.movie_api.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GenrePurgeDto {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private Long genreId;
+    private State state;
+
+    /** Movies the genre had when the purge started. */
+    private long moviesTotal;
+    private long moviesDeleted;
+
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
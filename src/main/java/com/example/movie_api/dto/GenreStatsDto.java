@@ -0,0 +1,22 @@
+package com.example.movie_api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GenreStatsDto {
+    private Long genreId;
+    private String genreName;
+    private long movieCount;
+    private Double averageRating;
+
+    /**
+     * Movie counts per whole rating point: index n holds ratings in [n, n + 1), the last one includes 10.
+     */
+    private List<Long> ratingHistogram;
+}
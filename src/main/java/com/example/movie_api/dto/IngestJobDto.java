@@ -0,0 +1,31 @@
+package com.example.movie_api.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestJobDto {
+
+    public enum State {
+        QUEUED,
+        COMPLETED
+    }
+
+    private String jobId;
+    private State state;
+    private int submitted;
+    private int created;
+    private int updated;
+    private int rejected;
+
+    /** Accepted rows still waiting for the writer. */
+    private int pending;
+
+    private Instant submittedAt;
+    private Instant completedAt;
+}
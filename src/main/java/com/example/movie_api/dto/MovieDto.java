@@ -1,5 +1,7 @@
 package com.example.movie_api.dto;
 
+import com.example.movie_api.validation.ValidationMessages;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
@@ -8,22 +10,23 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class MovieDto {
 
     private Long id;
 
-    @NotBlank(message = "Movie title cannot be blank")
+    @NotBlank(message = ValidationMessages.MOVIE_TITLE_BLANK)
     private String title;
 
-    @NotBlank(message = "Director name cannot be blank")
+    @NotBlank(message = ValidationMessages.MOVIE_DIRECTOR_BLANK)
     private String director;
 
-    @NotNull(message = "Rating cannot be null")
-    @DecimalMin(value = "0.0", message = "Rating must be at least 0.0")
-    @DecimalMax(value = "10.0", message = "Rating must not exceed 10.0")
+    @NotNull(message = ValidationMessages.RATING_NULL)
+    @DecimalMin(value = "0.0", message = ValidationMessages.RATING_RANGE)
+    @DecimalMax(value = "10.0", message = ValidationMessages.RATING_RANGE)
     private Double rating;
 
-    @NotNull(message = "Genre ID cannot be null")
+    @NotNull(message = ValidationMessages.MOVIE_GENRE_ID_NULL)
     private Long genreId;
 
     private String genreName;
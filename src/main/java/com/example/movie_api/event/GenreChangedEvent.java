@@ -0,0 +1,40 @@
+package com.example.movie_api.event;
+
+import lombok.Value;
+
+import java.util.Objects;
+
+/**
+ * Published by the genre write paths. {@code previous} is null for a creation
+ * and {@code current} is null for a deletion.
+ */
+@Value
+public class GenreChangedEvent {
+    GenreSnapshot previous;
+    GenreSnapshot current;
+
+    public static GenreChangedEvent created(GenreSnapshot current) {
+        return new GenreChangedEvent(null, current);
+    }
+
+    public static GenreChangedEvent updated(GenreSnapshot previous, GenreSnapshot current) {
+        return new GenreChangedEvent(previous, current);
+    }
+
+    public static GenreChangedEvent deleted(GenreSnapshot previous) {
+        return new GenreChangedEvent(previous, null);
+    }
+
+    public Long getGenreId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+
+    public boolean isDeleted() {
+        return current == null;
+    }
+
+    public boolean isRenamed() {
+        return previous != null && current != null
+                && !Objects.equals(previous.getName(), current.getName());
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.movie_api.event;
+
+import com.example.movie_api.model.Genre;
+import lombok.Value;
+
+@Value
+public class GenreSnapshot {
+    Long id;
+    String name;
+
+    public static GenreSnapshot of(Genre genre) {
+        return new GenreSnapshot(genre.getId(), genre.getName());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.movie_api.event;
+
+import lombok.Value;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Published by the movie write paths. {@code previous} is null for a creation
+ * and {@code current} is null for a deletion.
+ */
+@Value
+public class MovieChangedEvent {
+    MovieSnapshot previous;
+    MovieSnapshot current;
+
+    public static MovieChangedEvent created(MovieSnapshot current) {
+        return new MovieChangedEvent(null, current);
+    }
+
+    public static MovieChangedEvent updated(MovieSnapshot previous, MovieSnapshot current) {
+        return new MovieChangedEvent(previous, current);
+    }
+
+    public static MovieChangedEvent deleted(MovieSnapshot previous) {
+        return new MovieChangedEvent(previous, null);
+    }
+
+    public Long getMovieId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+
+    public boolean isDeleted() {
+        return current == null;
+    }
+
+    /**
+     * Genres whose movie lists change; two of them when a movie moves between genres.
+     */
+    public Set<Long> getAffectedGenreIds() {
+        Set<Long> genreIds = new LinkedHashSet<>(2);
+        if (previous != null) {
+            genreIds.add(previous.getGenreId());
+        }
+        if (current != null) {
+            genreIds.add(current.getGenreId());
+        }
+        return genreIds;
+    }
+}
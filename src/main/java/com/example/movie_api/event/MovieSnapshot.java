@@ -0,0 +1,22 @@
+package com.example.movie_api.event;
+
+import com.example.movie_api.model.Movie;
+import lombok.Value;
+
+@Value
+public class MovieSnapshot {
+    Long id;
+    String title;
+    String director;
+    Double rating;
+    Long genreId;
+
+    public static MovieSnapshot of(Movie movie) {
+        return new MovieSnapshot(
+                movie.getId(),
+                movie.getTitle(),
+                movie.getDirector(),
+                movie.getRating(),
+                movie.getGenre().getId());
+    }
+}
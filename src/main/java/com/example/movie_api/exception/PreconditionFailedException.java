@@ -0,0 +1,7 @@
+package com.example.movie_api.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -8,4 +8,16 @@ public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String resourceName, Long id) {
         super(String.format("%s not found with id: %d", resourceName, id));
     }
+
+    private ResourceNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * For misses answered from memory, where capturing a stack trace would cost
+     * more than the lookup itself. The handler only renders the message.
+     */
+    public static ResourceNotFoundException withoutStackTrace(String resourceName, Long id) {
+        return new ResourceNotFoundException(resourceName + " not found with id: " + id, false);
+    }
 }
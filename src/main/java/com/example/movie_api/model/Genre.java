@@ -2,11 +2,20 @@ package com.example.movie_api.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * A deleted genre stays in the table until its movies are purged; the restriction
+ * hides it, and through the join its movies, from every JPA query meanwhile.
+ * Names are unique among live genres only, so a deleted genre's name can be reused at once.
+ */
 @Entity
+@DynamicUpdate
+@SQLRestriction("deleted = false")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,12 +26,18 @@ public class Genre {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
 
     @Column(nullable = false)
     private Integer followerCount;
 
+    @Version
+    private Long version;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
     @OneToMany(mappedBy = "genre", cascade = CascadeType.ALL)
     @Builder.Default
     private List<Movie> movies = new ArrayList<>();
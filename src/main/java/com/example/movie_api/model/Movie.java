@@ -2,8 +2,10 @@ package com.example.movie_api.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -11,8 +13,12 @@ import lombok.*;
 @Builder
 public class Movie {
 
+    /** Ids each instance reserves per sequence call; must match the movie_seq increment. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_seq")
+    @SequenceGenerator(name = "movie_seq", sequenceName = "movie_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -21,9 +27,18 @@ public class Movie {
     @Column(nullable = false)
     private String director;
 
+    /**
+     * Lower-cased director, generated by the database and indexed for case-insensitive equality.
+     */
+    @Column(name = "director_key", insertable = false, updatable = false)
+    private String directorKey;
+
     @Column(nullable = false)
     private Double rating;
 
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "genre_id", nullable = false)
     private Genre genre;
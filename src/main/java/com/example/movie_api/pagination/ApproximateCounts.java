@@ -0,0 +1,39 @@
+package com.example.movie_api.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of COUNT(*) results so that asking for a total on every
+ * page does not turn each request into a full scan.
+ */
+@Component
+public class ApproximateCounts {
+
+    private final ConcurrentMap<String, Entry> counts = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public ApproximateCounts(@Value("${pagination.count-cache-ttl:30s}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public long get(String key, LongSupplier counter) {
+        long now = System.nanoTime();
+        Entry entry = counts.get(key);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            return entry.value;
+        }
+
+        Entry fresh = new Entry(counter.getAsLong(), now);
+        counts.put(key, fresh);
+        return fresh.value;
+    }
+
+    private record Entry(long value, long loadedAt) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.movie_api.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the last seen id of a page into an opaque cursor and back.
+ * Clients must treat the cursor as a token and only echo it in {@code ?after=}.
+ */
+public final class CursorCodec {
+
+    private static final String PREFIX = "id:";
+    private static final long START = 0L;
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.movie_api.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final Long approximateTotal;
+
+    /**
+     * Builds a page from a seek query that fetched up to {@code limit + 1} rows;
+     * the extra row only signals that another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, Long> idOf, Long approximateTotal) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null, approximateTotal);
+        }
+
+        List<T> items = fetched.subList(0, limit);
+        String nextCursor = CursorCodec.encode(idOf.apply(items.get(limit - 1)));
+        return new CursorPage<>(items, nextCursor, approximateTotal);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
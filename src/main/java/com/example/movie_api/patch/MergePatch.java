@@ -0,0 +1,85 @@
+package com.example.movie_api.patch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A JSON Merge Patch (RFC 7396) document. Members that are absent stay unchanged;
+ * an explicit {@code null} would remove a value, which every patchable field here
+ * rejects because none of them is optional.
+ */
+public final class MergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final JsonNode document;
+
+    private MergePatch(JsonNode document) {
+        this.document = document;
+    }
+
+    public static MergePatch of(JsonNode document, List<String> patchable) {
+        if (document == null || !document.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+
+        Iterator<String> names = document.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!patchable.contains(name)) {
+                throw new IllegalArgumentException("Field '" + name + "' cannot be patched, expected any of " + patchable);
+            }
+        }
+        return new MergePatch(document);
+    }
+
+    public boolean isEmpty() {
+        return document.isEmpty();
+    }
+
+    public boolean has(String field) {
+        return document.has(field);
+    }
+
+    public String text(String field) {
+        JsonNode value = required(field);
+        if (!value.isTextual()) {
+            throw new IllegalArgumentException(field + " must be a string");
+        }
+        return value.textValue();
+    }
+
+    public Double decimal(String field) {
+        JsonNode value = required(field);
+        if (!value.isNumber()) {
+            throw new IllegalArgumentException(field + " must be a number");
+        }
+        return value.doubleValue();
+    }
+
+    public Long id(String field) {
+        JsonNode value = required(field);
+        if (!value.isIntegralNumber() || !value.canConvertToLong()) {
+            throw new IllegalArgumentException(field + " must be an integer");
+        }
+        return value.longValue();
+    }
+
+    public Integer integer(String field) {
+        JsonNode value = required(field);
+        if (!value.isIntegralNumber() || !value.canConvertToInt()) {
+            throw new IllegalArgumentException(field + " must be an integer");
+        }
+        return value.intValue();
+    }
+
+    private JsonNode required(String field) {
+        JsonNode value = document.get(field);
+        if (value.isNull()) {
+            throw new IllegalArgumentException(field + " cannot be null");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.movie_api.projection;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields a client asked for with {@code ?fields=a,b,c}. The id is always part of a
+ * selection because cursors and links are built from it.
+ */
+public final class FieldSelection {
+
+    public static final List<String> MOVIE_FIELDS = List.of("id", "title", "director", "rating", "genreId", "genreName");
+    public static final List<String> GENRE_FIELDS = List.of("id", "name", "followerCount");
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    public static FieldSelection parse(String fields, List<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected any of " + allowed);
+            }
+            selected.add(name);
+        }
+        return selected.size() == allowed.size() ? ALL : new FieldSelection(Collections.unmodifiableSet(selected));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * The selected fields in the order of {@code allowed}, which is also the column order of projections.
+     */
+    public List<String> select(List<String> allowed) {
+        return allowed.stream().filter(this::includes).collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return fields == null ? "*" : String.join(",", fields);
+    }
+}
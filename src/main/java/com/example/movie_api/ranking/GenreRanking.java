@@ -0,0 +1,220 @@
+package com.example.movie_api.ranking;
+
+import com.example.movie_api.event.MovieSnapshot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The best {@code capacity} movies of each genre in rating order, highest first and
+ * oldest id on ties. Updates re-position a movie in O(log capacity), moving it between
+ * genres if needed, and a top-N read walks only the first N entries of one genre.
+ * <p>
+ * A genre that overflowed is truncated: every movie left out ranks below its worst
+ * member. Once a member leaves such a genre the ranking can no longer tell what takes
+ * its place, so {@link #top} answers null until the caller {@link #refill refills} it
+ * from the database.
+ */
+public class GenreRanking {
+
+    private static final Comparator<MovieSnapshot> BEST_FIRST = Comparator
+            .comparingDouble(MovieSnapshot::getRating).reversed()
+            .thenComparingLong(MovieSnapshot::getId);
+
+    private final int capacity;
+    private final Map<Long, MovieSnapshot> members = new HashMap<>();
+    private final Map<Long, Ranked> genres = new HashMap<>();
+    private final Map<Long, Long> generations = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public GenreRanking(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ranking capacity must be at least 1");
+        }
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Ranks a new or changed movie. {@code previous} is the movie as it was before the
+     * change, or null for a new one; its genre may hold the movie even if it is not a member.
+     */
+    public void put(MovieSnapshot previous, MovieSnapshot movie) {
+        lock.writeLock().lock();
+        try {
+            unrank(previous, movie.getId());
+            changed(movie.getGenreId());
+
+            Ranked ranked = genres.computeIfAbsent(movie.getGenreId(), key -> new Ranked());
+            if (!ranked.complete
+                    && (ranked.movies.isEmpty() || BEST_FIRST.compare(movie, ranked.movies.last()) > 0)) {
+                // Below the cut, or no cut left to compare with; the refill will find it.
+                return;
+            }
+            ranked.movies.add(movie);
+            members.put(movie.getId(), movie);
+            if (ranked.movies.size() > capacity) {
+                members.remove(ranked.movies.pollLast().getId());
+                ranked.complete = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(MovieSnapshot previous) {
+        lock.writeLock().lock();
+        try {
+            unrank(previous, previous.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeGenre(long genreId) {
+        lock.writeLock().lock();
+        try {
+            changed(genreId);
+            Ranked ranked = genres.remove(genreId);
+            if (ranked != null) {
+                ranked.movies.forEach(movie -> members.remove(movie.getId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            members.clear();
+            genres.clear();
+            generations.replaceAll((genreId, generation) -> generation + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best {@code n} movies of a genre, at most {@link #getCapacity()}, or null
+     * when the genre lost members since it was truncated and must be refilled first.
+     */
+    public List<MovieSnapshot> top(long genreId, int n) {
+        lock.readLock().lock();
+        try {
+            Ranked ranked = genres.get(genreId);
+            if (ranked == null) {
+                return List.of();
+            }
+            if (ranked.needsRefill(capacity)) {
+                return null;
+            }
+
+            List<MovieSnapshot> result = new ArrayList<>(Math.min(n, ranked.movies.size()));
+            for (MovieSnapshot movie : ranked.movies) {
+                if (result.size() == n) {
+                    break;
+                }
+                result.add(movie);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Changes with every update that touches the genre; read it before querying the
+     * database for a {@link #refill}.
+     */
+    public long generation(long genreId) {
+        lock.readLock().lock();
+        try {
+            return generations.getOrDefault(genreId, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces a genre with its best movies as read from the database, unless the genre
+     * changed after {@code generation} was taken; the read may then already be stale.
+     *
+     * @return whether the movies were taken
+     */
+    public boolean refill(long genreId, List<MovieSnapshot> best, long generation) {
+        lock.writeLock().lock();
+        try {
+            if (generations.getOrDefault(genreId, 0L) != generation) {
+                return false;
+            }
+
+            Ranked previous = genres.remove(genreId);
+            if (previous != null) {
+                previous.movies.forEach(movie -> members.remove(movie.getId()));
+            }
+            Ranked ranked = new Ranked();
+            best.stream().limit(capacity).forEach(movie -> {
+                ranked.movies.add(movie);
+                members.put(movie.getId(), movie);
+            });
+            ranked.complete = best.size() < capacity;
+            genres.put(genreId, ranked);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return members.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unrank(MovieSnapshot previous, long movieId) {
+        if (previous != null) {
+            changed(previous.getGenreId());
+        }
+        MovieSnapshot member = members.remove(movieId);
+        if (member == null) {
+            return;
+        }
+
+        changed(member.getGenreId());
+        Ranked ranked = genres.get(member.getGenreId());
+        if (ranked != null) {
+            ranked.movies.remove(member);
+            if (ranked.movies.isEmpty() && ranked.complete) {
+                genres.remove(member.getGenreId());
+            }
+        }
+    }
+
+    private void changed(long genreId) {
+        generations.merge(genreId, 1L, Long::sum);
+    }
+
+    private static final class Ranked {
+        private final NavigableSet<MovieSnapshot> movies = new TreeSet<>(BEST_FIRST);
+
+        /** Every movie of the genre is a member; false once an overflow dropped one. */
+        private boolean complete = true;
+
+        private boolean needsRefill(int capacity) {
+            return !complete && movies.size() < capacity;
+        }
+    }
+}
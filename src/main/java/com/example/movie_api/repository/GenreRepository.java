@@ -1,13 +1,32 @@
 package com.example.movie_api.repository;
 
 import com.example.movie_api.model.Genre;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface GenreRepository extends JpaRepository<Genre, Long> {
+public interface GenreRepository extends JpaRepository<Genre, Long>, GenreRepositoryCustom {
     Optional<Genre> findByName(String name);
     boolean existsByName(String name);
+
+    List<Genre> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("select g.id from Genre g where g.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select g.version from Genre g where g.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Genre g set g.deleted = true, g.version = g.version + 1 where g.id = :id")
+    int markDeleted(@Param("id") Long id);
 }
@@ -0,0 +1,11 @@
+package com.example.movie_api.repository;
+
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.projection.FieldSelection;
+
+import java.util.List;
+
+public interface GenreRepositoryCustom {
+
+    List<GenreDto> findProjectedPage(FieldSelection fields, long afterId, int limit);
+}
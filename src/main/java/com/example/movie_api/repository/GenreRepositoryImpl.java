@@ -0,0 +1,49 @@
+package com.example.movie_api.repository;
+
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.projection.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+class GenreRepositoryImpl implements GenreRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<GenreDto> findProjectedPage(FieldSelection fields, long afterId, int limit) {
+        List<String> columns = fields.select(FieldSelection.GENRE_FIELDS);
+        String jpql = select(columns) + " where g.id > :afterId order by g.id";
+
+        return entityManager.createQuery(jpql, Tuple.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(row -> toDto(columns, row))
+                .collect(Collectors.toList());
+    }
+
+    private static String select(List<String> columns) {
+        return columns.stream()
+                .map(column -> "g." + column + " as " + column)
+                .collect(Collectors.joining(", ", "select ", " from Genre g"));
+    }
+
+    private static GenreDto toDto(List<String> columns, Tuple row) {
+        GenreDto dto = new GenreDto();
+        for (String column : columns) {
+            Object value = row.get(column);
+            switch (column) {
+                case "id" -> dto.setId((Long) value);
+                case "name" -> dto.setName((String) value);
+                case "followerCount" -> dto.setFollowerCount((Integer) value);
+                default -> throw new IllegalStateException("Unmapped genre field: " + column);
+            }
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.movie_api.repository;
+
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.MovieDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@link ReactiveCatalogRepository} over the JDBC datasource, for databases without an
+ * R2DBC driver here. Each query blocks the thread that subscribes.
+ */
+@RequiredArgsConstructor
+public class JdbcCatalogRepository implements ReactiveCatalogRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Mono<MovieDto> findMovieById(long id) {
+        return Mono.fromCallable(() -> jdbcTemplate.query(MOVIE_COLUMNS + "where m.id = ?",
+                        JdbcCatalogRepository::toMovie, id).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Flux<MovieDto> findMoviePageByGenreId(long genreId, long afterId, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(jdbcTemplate.query(MOVIE_COLUMNS
+                        + "where m.genre_id = ? and m.id > ? order by m.id fetch first ? rows only",
+                JdbcCatalogRepository::toMovie, genreId, afterId, limit)));
+    }
+
+    @Override
+    public Mono<GenreDto> findGenreById(long id) {
+        return Mono.fromCallable(() -> jdbcTemplate.query(GENRE_COLUMNS + "where id = ? and not deleted",
+                        JdbcCatalogRepository::toGenre, id).stream().findFirst().orElse(null));
+    }
+
+    @Override
+    public Flux<GenreDto> findGenrePage(long afterId, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(jdbcTemplate.query(GENRE_COLUMNS
+                        + "where id > ? and not deleted order by id fetch first ? rows only",
+                JdbcCatalogRepository::toGenre, afterId, limit)));
+    }
+
+    @Override
+    public Mono<Boolean> existsGenreById(long id) {
+        return Mono.fromCallable(() -> !jdbcTemplate.queryForList(
+                "select 1 from genre where id = ? and not deleted", Integer.class, id).isEmpty());
+    }
+
+    private static MovieDto toMovie(ResultSet rs, int rowNum) throws SQLException {
+        return MovieDto.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .director(rs.getString("director"))
+                .rating(rs.getDouble("rating"))
+                .genreId(rs.getLong("genre_id"))
+                .genreName(rs.getString("genre_name"))
+                .build();
+    }
+
+    private static GenreDto toGenre(ResultSet rs, int rowNum) throws SQLException {
+        return GenreDto.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .followerCount(rs.getInt("follower_count"))
+                .build();
+    }
+}
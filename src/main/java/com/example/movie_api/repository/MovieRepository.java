@@ -1,14 +1,104 @@
 package com.example.movie_api.repository;
 
+import com.example.movie_api.cache.VersionedMovie;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.event.MovieSnapshot;
 import com.example.movie_api.model.Movie;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, MovieRepositoryCustom {
+
+    String MOVIE_DTO_SELECT = "select new com.example.movie_api.dto.MovieDto("
+            + "m.id, m.title, m.director, m.rating, g.id, g.name) "
+            + "from Movie m join m.genre g";
+
+    String VERSIONED_MOVIE_SELECT = "select new com.example.movie_api.cache.VersionedMovie("
+            + "m.id, m.title, m.director, m.rating, g.id, g.name, m.version, g.version) "
+            + "from Movie m join m.genre g";
+
+    String MOVIE_SNAPSHOT_SELECT = "select new com.example.movie_api.event.MovieSnapshot("
+            + "m.id, m.title, m.director, m.rating, m.genre.id) "
+            + "from Movie m";
+
+    /** Snapshots for bulk maintenance, which must not touch movies of a soft-deleted genre. */
+    String LIVE_MOVIE_SNAPSHOT_SELECT = "select new com.example.movie_api.event.MovieSnapshot("
+            + "m.id, m.title, m.director, m.rating, g.id) "
+            + "from Movie m join m.genre g where g.deleted = false";
+
     List<Movie> findByGenreId(Long genreId);
-    List<Movie> findByTitleContainingIgnoreCase(String title);
-    List<Movie> findByDirectorContainingIgnoreCase(String director);
+
+    long countByGenreId(Long genreId);
+
+    /**
+     * Unlike {@code count()}, leaves out movies whose genre is soft-deleted and awaiting
+     * purge. The filter is explicit because Hibernate drops an unused join.
+     */
+    @Query("select count(m) from Movie m join m.genre g where g.deleted = false")
+    long countWithLiveGenre();
+
+    @Query(MOVIE_DTO_SELECT + " order by m.id")
+    List<MovieDto> findAllDtos();
+
+    @Query(VERSIONED_MOVIE_SELECT + " where m.id = :id")
+    Optional<VersionedMovie> findVersionedById(@Param("id") Long id);
+
+    @Query("select m.version from Movie m join m.genre g where m.id = :id and g.deleted = false")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(MOVIE_DTO_SELECT + " where g.id = :genreId order by m.id")
+    List<MovieDto> findDtosByGenreId(@Param("genreId") Long genreId);
+
+    @Query(MOVIE_DTO_SELECT + " where m.id > :afterId order by m.id")
+    List<MovieDto> findDtoPage(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(MOVIE_DTO_SELECT + " where g.id = :genreId and m.id > :afterId order by m.id")
+    List<MovieDto> findDtoPageByGenreId(@Param("genreId") Long genreId, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(MOVIE_DTO_SELECT + " where m.id in :ids")
+    List<MovieDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select m from Movie m join m.genre g where m.id in :ids and g.deleted = false")
+    List<Movie> findWithLiveGenreByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(LIVE_MOVIE_SNAPSHOT_SELECT + " and m.id in :ids")
+    List<MovieSnapshot> findSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(LIVE_MOVIE_SNAPSHOT_SELECT + " and g.id = :genreId order by m.rating desc, m.id")
+    List<MovieSnapshot> findTopSnapshotsByGenreId(@Param("genreId") Long genreId, Limit limit);
+
+    @Query(MOVIE_SNAPSHOT_SELECT + " where m.genre.id = :genreId order by m.id")
+    List<MovieSnapshot> findSnapshotsByGenreId(@Param("genreId") Long genreId, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Movie m where m.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(MOVIE_DTO_SELECT + " order by m.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<MovieDto> streamAllDtos();
+
+    @Query("select m from Movie m join fetch m.genre order by m.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Movie> streamAllWithGenre();
 }
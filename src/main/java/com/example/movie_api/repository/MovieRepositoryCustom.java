@@ -0,0 +1,28 @@
+package com.example.movie_api.repository;
+
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.event.MovieSnapshot;
+import com.example.movie_api.projection.FieldSelection;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MovieRepositoryCustom {
+
+    /**
+     * Keyset page selecting only the requested columns; {@code genreId} may be null for all genres.
+     */
+    List<MovieDto> findProjectedPage(FieldSelection fields, Long genreId, long afterId, int limit);
+
+
+    /**
+     * First {@code limit} movies by id matching every non-null criterion; {@code director}
+     * is compared case-insensitively.
+     */
+    List<MovieSnapshot> findSnapshotsMatching(Long genreId, String director, Double maxRating, int limit);
+
+    /**
+     * One UPDATE for all ids, bumping each version; null values leave the column as is.
+     */
+    int updateRatingAndGenre(Collection<Long> ids, Double rating, Long genreId);
+}
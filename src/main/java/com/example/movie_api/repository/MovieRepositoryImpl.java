@@ -0,0 +1,136 @@
+package com.example.movie_api.repository;
+
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.event.MovieSnapshot;
+import com.example.movie_api.model.Genre;
+import com.example.movie_api.projection.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the select list from the requested fields. Movies of soft-deleted genres are
+ * filtered explicitly: when no genre column is selected Hibernate drops the unused
+ * join, and the genre's {@code @SQLRestriction} with it. Every query therefore joins
+ * the genre, even for a selection such as {@code id,title}; the join is a primary key
+ * lookup per row, and any soft-deleted genre still awaiting its purge needs it.
+ */
+class MovieRepositoryImpl implements MovieRepositoryCustom {
+
+    private static final Map<String, String> PATHS = Map.of(
+            "id", "m.id",
+            "title", "m.title",
+            "director", "m.director",
+            "rating", "m.rating",
+            "genreId", "g.id",
+            "genreName", "g.name");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MovieDto> findProjectedPage(FieldSelection fields, Long genreId, long afterId, int limit) {
+        List<String> columns = fields.select(FieldSelection.MOVIE_FIELDS);
+        StringBuilder jpql = selectFrom(columns).append(" and m.id > :afterId");
+        if (genreId != null) {
+            jpql.append(" and g.id = :genreId");
+        }
+        jpql.append(" order by m.id");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit);
+        if (genreId != null) {
+            query.setParameter("genreId", genreId);
+        }
+        return query.getResultList().stream()
+                .map(row -> toDto(columns, row))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<MovieSnapshot> findSnapshotsMatching(Long genreId, String director, Double maxRating, int limit) {
+        StringBuilder jpql = new StringBuilder(MovieRepository.LIVE_MOVIE_SNAPSHOT_SELECT);
+        if (genreId != null) {
+            jpql.append(" and g.id = :genreId");
+        }
+        if (director != null) {
+            jpql.append(" and m.directorKey = :director");
+        }
+        if (maxRating != null) {
+            jpql.append(" and m.rating <= :maxRating");
+        }
+        jpql.append(" order by m.id");
+
+        TypedQuery<MovieSnapshot> query = entityManager.createQuery(jpql.toString(), MovieSnapshot.class)
+                .setMaxResults(limit);
+        if (genreId != null) {
+            query.setParameter("genreId", genreId);
+        }
+        if (director != null) {
+            query.setParameter("director", director.toLowerCase(Locale.ROOT));
+        }
+        if (maxRating != null) {
+            query.setParameter("maxRating", maxRating);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public int updateRatingAndGenre(Collection<Long> ids, Double rating, Long genreId) {
+        StringBuilder jpql = new StringBuilder("update Movie m set m.version = m.version + 1");
+        if (rating != null) {
+            jpql.append(", m.rating = :rating");
+        }
+        if (genreId != null) {
+            jpql.append(", m.genre = :genre");
+        }
+        jpql.append(" where m.id in :ids");
+
+        entityManager.flush();
+        Query update = entityManager.createQuery(jpql.toString()).setParameter("ids", ids);
+        if (rating != null) {
+            update.setParameter("rating", rating);
+        }
+        if (genreId != null) {
+            update.setParameter("genre", entityManager.getReference(Genre.class, genreId));
+        }
+        int updated = update.executeUpdate();
+        // Managed movies no longer match their rows.
+        entityManager.clear();
+        return updated;
+    }
+
+    private static StringBuilder selectFrom(List<String> columns) {
+        StringBuilder jpql = new StringBuilder("select ");
+        jpql.append(columns.stream()
+                .map(column -> PATHS.get(column) + " as " + column)
+                .collect(Collectors.joining(", ")));
+        return jpql.append(" from Movie m join m.genre g where g.deleted = false");
+    }
+
+    private static MovieDto toDto(List<String> columns, Tuple row) {
+        MovieDto dto = new MovieDto();
+        for (String column : columns) {
+            Object value = row.get(column);
+            switch (column) {
+                case "id" -> dto.setId((Long) value);
+                case "title" -> dto.setTitle((String) value);
+                case "director" -> dto.setDirector((String) value);
+                case "rating" -> dto.setRating((Double) value);
+                case "genreId" -> dto.setGenreId((Long) value);
+                case "genreName" -> dto.setGenreName((String) value);
+                default -> throw new IllegalStateException("Unmapped movie field: " + column);
+            }
+        }
+        return dto;
+    }
+}
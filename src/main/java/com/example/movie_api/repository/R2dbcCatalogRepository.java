@@ -0,0 +1,84 @@
+package com.example.movie_api.repository;
+
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.MovieDto;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveCatalogRepository} over an R2DBC {@link DatabaseClient}.
+ */
+@RequiredArgsConstructor
+public class R2dbcCatalogRepository implements ReactiveCatalogRepository {
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    @Override
+    public Mono<MovieDto> findMovieById(long id) {
+        return reactiveDatabaseClient.sql(MOVIE_COLUMNS + "where m.id = :id")
+                .bind("id", id)
+                .map(R2dbcCatalogRepository::toMovie)
+                .one();
+    }
+
+    @Override
+    public Flux<MovieDto> findMoviePageByGenreId(long genreId, long afterId, int limit) {
+        return reactiveDatabaseClient.sql(MOVIE_COLUMNS
+                        + "where m.genre_id = :genreId and m.id > :afterId order by m.id fetch first :limit rows only")
+                .bind("genreId", genreId)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(R2dbcCatalogRepository::toMovie)
+                .all();
+    }
+
+    @Override
+    public Mono<GenreDto> findGenreById(long id) {
+        return reactiveDatabaseClient.sql(GENRE_COLUMNS + "where id = :id and not deleted")
+                .bind("id", id)
+                .map(R2dbcCatalogRepository::toGenre)
+                .one();
+    }
+
+    @Override
+    public Flux<GenreDto> findGenrePage(long afterId, int limit) {
+        return reactiveDatabaseClient.sql(
+                        GENRE_COLUMNS + "where id > :afterId and not deleted "
+                                + "order by id fetch first :limit rows only")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(R2dbcCatalogRepository::toGenre)
+                .all();
+    }
+
+    @Override
+    public Mono<Boolean> existsGenreById(long id) {
+        return reactiveDatabaseClient.sql("select 1 from genre where id = :id and not deleted")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    private static MovieDto toMovie(Readable row) {
+        return MovieDto.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .director(row.get("director", String.class))
+                .rating(row.get("rating", Double.class))
+                .genreId(row.get("genre_id", Long.class))
+                .genreName(row.get("genre_name", String.class))
+                .build();
+    }
+
+    private static GenreDto toGenre(Readable row) {
+        return GenreDto.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .followerCount(row.get("follower_count", Integer.class))
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.movie_api.repository;
+
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.MovieDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only queries behind the reactive endpoints, mirroring the DTO projections of
+ * the JPA repositories. Served over R2DBC where a driver for the datasource is
+ * available and over JDBC otherwise; see {@code ReactiveDatabaseConfig}.
+ */
+public interface ReactiveCatalogRepository {
+
+    String MOVIE_COLUMNS =
+            "select m.id, m.title, m.director, m.rating, m.genre_id, g.name as genre_name "
+                    + "from movie m join genre g on g.id = m.genre_id and not g.deleted ";
+
+    String GENRE_COLUMNS = "select id, name, follower_count from genre ";
+
+    Mono<MovieDto> findMovieById(long id);
+
+    Flux<MovieDto> findMoviePageByGenreId(long genreId, long afterId, int limit);
+
+    Mono<GenreDto> findGenreById(long id);
+
+    Flux<GenreDto> findGenrePage(long afterId, int limit);
+
+    Mono<Boolean> existsGenreById(long id);
+}
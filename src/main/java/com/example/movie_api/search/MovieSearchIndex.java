@@ -0,0 +1,305 @@
+package com.example.movie_api.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over movie titles and directors.
+ *
+ * <p>Whole tokens are kept in a sorted dictionary for prefix lookups of short
+ * terms; every token is also split into trigrams so that terms of three or
+ * more characters match anywhere inside a word, like the old {@code LIKE '%x%'}.
+ * All terms of a query must match. Title hits rank above director hits, and
+ * exact tokens above prefixes above infix matches.</p>
+ *
+ * <p>Each movie also remembers its genre, so a deleted genre's movies can be
+ * dropped at once.</p>
+ */
+public class MovieSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, PostingList> grams = new HashMap<>();
+    private final NavigableMap<String, PostingList> tokens = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String title, String director, long genreId) {
+        Document document = new Document(id, normalize(title), normalize(director), genreId);
+
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.put(id, document);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeGenre(long genreId) {
+        lock.writeLock().lock();
+        try {
+            documents.values().removeIf(document -> {
+                if (document.genreId != genreId) {
+                    return false;
+                }
+                unindex(document);
+                return true;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            grams.clear();
+            tokens.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        List<String> terms = List.copyOf(tokenize(normalize(query)));
+        if (terms.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = null;
+            for (String term : terms) {
+                long[] matches = match(term);
+                candidates = candidates == null ? matches : intersect(candidates, matches);
+                if (candidates.length == 0) {
+                    return SearchHits.EMPTY;
+                }
+            }
+
+            List<ScoredId> scored = new ArrayList<>(candidates.length);
+            for (long id : candidates) {
+                scored.add(new ScoredId(id, score(documents.get(id), terms)));
+            }
+            scored.sort(Comparator.comparingInt(ScoredId::score).reversed()
+                    .thenComparingLong(ScoredId::id));
+
+            int from = Math.min(offset, scored.size());
+            int to = Math.min(from + limit, scored.size());
+            List<Long> page = new ArrayList<>(to - from);
+            for (ScoredId hit : scored.subList(from, to)) {
+                page.add(hit.id());
+            }
+            return new SearchHits(scored.size(), page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> tokenize(String normalized) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    private long[] match(String term) {
+        if (term.length() < GRAM_LENGTH) {
+            return matchPrefix(term);
+        }
+
+        List<PostingList> postings = new ArrayList<>();
+        for (String gram : gramsOf(term)) {
+            PostingList posting = grams.get(gram);
+            if (posting == null) {
+                return new long[0];
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(PostingList::size));
+
+        long[] candidates = postings.get(0).toArray();
+        for (int i = 1; i < postings.size() && candidates.length > 0; i++) {
+            candidates = postings.get(i).retainAll(candidates);
+        }
+
+        // Trigrams only narrow the field; confirm the term really occurs as a substring.
+        int count = 0;
+        for (long id : candidates) {
+            Document document = documents.get(id);
+            if (document.title.contains(term) || document.director.contains(term)) {
+                candidates[count++] = id;
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private long[] matchPrefix(String term) {
+        Collection<PostingList> matching = tokens
+                .subMap(term, true, term + Character.MAX_VALUE, false)
+                .values();
+
+        return matching.stream()
+                .flatMapToLong(posting -> Arrays.stream(posting.toArray()))
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                result[count++] = left[i];
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int score(Document document, List<String> terms) {
+        int score = 0;
+        for (String term : terms) {
+            score += 2 * fieldScore(document.title, document.titleTokens, term);
+            score += fieldScore(document.director, document.directorTokens, term);
+        }
+        return score;
+    }
+
+    private static int fieldScore(String field, Set<String> fieldTokens, String term) {
+        if (fieldTokens.contains(term)) {
+            return 3;
+        }
+        for (String token : fieldTokens) {
+            if (token.startsWith(term)) {
+                return 2;
+            }
+        }
+        return field.contains(term) ? 1 : 0;
+    }
+
+    private void index(Document document) {
+        for (String token : document.allTokens()) {
+            tokens.computeIfAbsent(token, key -> new PostingList()).add(document.id);
+            for (String gram : gramsOf(token)) {
+                grams.computeIfAbsent(gram, key -> new PostingList()).add(document.id);
+            }
+        }
+    }
+
+    private void unindex(Document document) {
+        for (String token : document.allTokens()) {
+            removeFrom(tokens, token, document.id);
+            for (String gram : gramsOf(token)) {
+                removeFrom(grams, gram, document.id);
+            }
+        }
+    }
+
+    private static void removeFrom(Map<String, PostingList> postings, String key, long id) {
+        PostingList posting = postings.get(key);
+        if (posting != null) {
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static Set<String> gramsOf(String token) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            result.add(token.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+
+    private static final class Document {
+        private final long id;
+        private final String title;
+        private final String director;
+        private final long genreId;
+        private final Set<String> titleTokens;
+        private final Set<String> directorTokens;
+
+        private Document(long id, String title, String director, long genreId) {
+            this.id = id;
+            this.title = title;
+            this.director = director;
+            this.genreId = genreId;
+            this.titleTokens = tokenize(title);
+            this.directorTokens = tokenize(director);
+        }
+
+        private Set<String> allTokens() {
+            Set<String> all = new LinkedHashSet<>(titleTokens);
+            all.addAll(directorTokens);
+            return all;
+        }
+    }
+
+    private record ScoredId(long id, int score) {
+    }
+}
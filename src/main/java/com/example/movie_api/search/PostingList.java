@@ -0,0 +1,88 @@
+package com.example.movie_api.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, duplicate-free list of movie ids backed by a primitive array.
+ * Ids are mostly appended in ascending order, which keeps inserts amortized O(1).
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+
+        int insertAt = -position - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Intersects a sorted id array with this list by binary searching for each id,
+     * so callers should pass the shorter side.
+     */
+    long[] retainAll(long[] sorted) {
+        long[] result = new long[Math.min(sorted.length, size)];
+        int count = 0;
+        int from = 0;
+
+        for (long id : sorted) {
+            int position = Arrays.binarySearch(ids, from, size, id);
+            if (position >= 0) {
+                result[count++] = id;
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+
+            if (from >= size) {
+                break;
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.movie_api.search;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SearchHits {
+
+    public static final SearchHits EMPTY = new SearchHits(0, List.of());
+
+    int total;
+    List<Long> ids;
+}
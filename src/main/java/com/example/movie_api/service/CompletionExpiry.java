@@ -0,0 +1,37 @@
+package com.example.movie_api.service;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Keeps entries for work in progress indefinitely and expires them a fixed time after
+ * they finish. Caffeine only re-evaluates expiry on writes, so the owner must put the
+ * entry again once it has finished.
+ */
+final class CompletionExpiry<K, V> implements Expiry<K, V> {
+
+    private final Predicate<V> finished;
+    private final long retentionNanos;
+
+    CompletionExpiry(Predicate<V> finished, Duration retention) {
+        this.finished = finished;
+        this.retentionNanos = retention.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(K key, V value, long currentTime) {
+        return finished.test(value) ? retentionNanos : Long.MAX_VALUE;
+    }
+
+    @Override
+    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.event.GenreChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Absorbs follow/unfollow traffic in striped in-memory counters and writes the
+ * net change per genre to {@code follower_count} in one batched UPDATE per
+ * flush, so hot genres never serialize on a row lock. The flush leaves the
+ * optimistic-lock version alone, so an If-Match taken before it stays valid.
+ */
+@Component
+@RequiredArgsConstructor
+public class GenreFollowerCounters {
+
+    private static final String FLUSH_SQL =
+            "update genre set follower_count = greatest(follower_count + ?, 0) where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Cache<Long, Boolean> knownGenres = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+
+    public void add(Long genreId, long delta) {
+        LongAdder adder = pending.computeIfAbsent(genreId, id -> new LongAdder());
+        adder.add(delta);
+        if (pending.get(genreId) != adder) {
+            // The flush retired this adder meanwhile; move whatever it missed to the live one.
+            moveLeftovers(genreId, adder);
+        }
+    }
+
+    public long pendingDelta(Long genreId) {
+        LongAdder adder = pending.get(genreId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    int trackedGenres() {
+        return pending.size();
+    }
+
+    /**
+     * Remembers positive answers only, so a genre created after a miss is found right away.
+     */
+    public boolean isKnownGenre(Long genreId, Predicate<Long> lookup) {
+        if (knownGenres.getIfPresent(genreId) != null) {
+            return true;
+        }
+
+        boolean exists = lookup.test(genreId);
+        if (exists) {
+            knownGenres.put(genreId, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    /**
+     * Runs in its own transaction, so it can be called directly, as the shutdown hook does.
+     * Genres with nothing to write lose their adder, so the map only holds genres followed lately.
+     */
+    @Scheduled(fixedDelayString = "${genre.followers.flush-interval:1s}")
+    public void flush() {
+        List<Object[]> updates = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                updates.add(new Object[]{delta, entry.getKey()});
+            } else if (pending.remove(entry.getKey(), entry.getValue())) {
+                moveLeftovers(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, updates));
+        } catch (RuntimeException ex) {
+            // Put the deltas back so the next flush retries them.
+            updates.forEach(update -> add((Long) update[1], (Long) update[0]));
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void moveLeftovers(Long genreId, LongAdder retired) {
+        long leftover = retired.sumThenReset();
+        if (leftover != 0) {
+            add(genreId, leftover);
+        }
+    }
+
+    @EventListener
+    public void onGenreChanged(GenreChangedEvent event) {
+        if (event.isDeleted()) {
+            pending.remove(event.getGenreId());
+            knownGenres.invalidate(event.getGenreId());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.dto.GenrePurgeDto;
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
+import com.example.movie_api.repository.MovieRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Removes the movies of a deleted genre with set-based DELETEs of at most
+ * {@code chunk-size} rows, each chunk in its own transaction, and finally the genre
+ * row itself. Neither the transactions nor the persistence context grow with the
+ * size of the genre. A purge starts in the background once the soft delete has
+ * committed. Progress is kept in memory for {@code genre.purge.retention} after a
+ * purge finishes; purges interrupted by a restart are picked up again at startup.
+ */
+@Slf4j
+@Service
+@Timed(value = "service.calls", histogram = true)
+public class GenrePurgeService {
+
+    private final MovieRepository movieRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<Long, Progress> purges;
+
+    @Value("${genre.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    public GenrePurgeService(
+            MovieRepository movieRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${genre.purge.retention:1h}") Duration retention) {
+        this.movieRepository = movieRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.purges = Caffeine.newBuilder()
+                .expireAfter(new CompletionExpiry<Long, Progress>(progress -> !progress.running(), retention))
+                .build();
+    }
+
+    /**
+     * Purges on the calling thread. A purge already running for the genre is not
+     * started twice; its current progress is returned instead.
+     */
+    public GenrePurgeDto purge(Long genreId) {
+        Long total = jdbcTemplate.queryForObject("select count(*) from movie where genre_id = ?", Long.class, genreId);
+        Progress started = new Progress(genreId, total);
+        Progress progress = purges.asMap()
+                .merge(genreId, started, (previous, next) -> previous.running() ? previous : next);
+        if (progress != started) {
+            return progress.toDto();
+        }
+
+        try {
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> deleteChunk(genreId));
+                progress.deleted(deleted);
+            } while (deleted == chunkSize);
+
+            transactionTemplate.execute(status ->
+                    jdbcTemplate.update("delete from genre where id = ? and deleted = true", genreId));
+            finish(progress, null);
+        } catch (RuntimeException ex) {
+            finish(progress, ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+            throw ex;
+        }
+        return progress.toDto();
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterGenreDeleteCommitted(GenreChangedEvent event) {
+        if (event.isDeleted()) {
+            purgeLoggingFailure(event.getGenreId());
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePurges() {
+        jdbcTemplate.queryForList("select id from genre where deleted = true order by id", Long.class)
+                .forEach(this::purgeLoggingFailure);
+    }
+
+    public Optional<GenrePurgeDto> findPurge(Long genreId) {
+        return Optional.ofNullable(purges.getIfPresent(genreId)).map(Progress::toDto);
+    }
+
+    /**
+     * A failed purge is recorded in its progress and retried at the next startup; it
+     * must not keep the purges of other genres from running.
+     */
+    private void purgeLoggingFailure(Long genreId) {
+        try {
+            purge(genreId);
+        } catch (RuntimeException ex) {
+            log.warn("Purge of genre {} failed", genreId, ex);
+        }
+    }
+
+    private void finish(Progress progress, String error) {
+        progress.finish(error);
+        // Written again so that the retention period starts now.
+        purges.put(progress.genreId, progress);
+    }
+
+    private int deleteChunk(Long genreId) {
+        List<MovieSnapshot> chunk = movieRepository.findSnapshotsByGenreId(genreId, Limit.of(chunkSize));
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        movieRepository.deleteByIdIn(chunk.stream().map(MovieSnapshot::getId).collect(Collectors.toList()));
+        chunk.forEach(movie -> eventPublisher.publishEvent(MovieChangedEvent.deleted(movie)));
+        return chunk.size();
+    }
+
+    private static final class Progress {
+        private final Long genreId;
+        private final long total;
+        private final Instant startedAt = Instant.now();
+        private volatile long deleted;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Progress(Long genreId, Long total) {
+            this.genreId = genreId;
+            this.total = total == null ? 0 : total;
+        }
+
+        private boolean running() {
+            return finishedAt == null;
+        }
+
+        private void deleted(int count) {
+            deleted += count;
+        }
+
+        private void finish(String failure) {
+            error = failure;
+            finishedAt = Instant.now();
+        }
+
+        private GenrePurgeDto toDto() {
+            GenrePurgeDto.State state = running()
+                    ? GenrePurgeDto.State.RUNNING
+                    : error == null ? GenrePurgeDto.State.COMPLETED : GenrePurgeDto.State.FAILED;
+            return new GenrePurgeDto(genreId, state, total, deleted, startedAt, finishedAt, error);
+        }
+    }
+}
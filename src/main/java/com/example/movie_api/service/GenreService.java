@@ -1,12 +1,27 @@
 package com.example.movie_api.service;
 
 import com.example.movie_api.repository.GenreRepository;
+import com.example.movie_api.cache.CollectionVersions;
+import com.example.movie_api.cache.ReadCoalescer;
+import com.example.movie_api.cache.VersionedGenre;
 import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.GenreSnapshot;
 import com.example.movie_api.exception.ResourceNotFoundException;
 import com.example.movie_api.mapper.GenreMapper;
 import com.example.movie_api.model.Genre;
+import com.example.movie_api.pagination.ApproximateCounts;
+import com.example.movie_api.patch.MergePatch;
+import com.example.movie_api.pagination.CursorCodec;
+import com.example.movie_api.pagination.CursorPage;
+import com.example.movie_api.projection.FieldSelection;
 import com.example.movie_api.validation.ValidationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,11 +30,19 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.calls", histogram = true)
 public class GenreService {
 
+    private static final List<String> PATCHABLE_FIELDS = List.of("name", "followerCount");
+
     private final GenreRepository genreRepository;
     private final GenreMapper genreMapper;
     private final ValidationService validationService;
+    private final ApproximateCounts approximateCounts;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GenreFollowerCounters followerCounters;
+    private final CollectionVersions collectionVersions;
+    private final ReadCoalescer readCoalescer;
 
     @Transactional
     public GenreDto createGenre(GenreDto genreDto) {
@@ -32,6 +55,7 @@ public class GenreService {
 
         Genre genre = genreMapper.toEntity(genreDto);
         Genre savedGenre = genreRepository.save(genre);
+        eventPublisher.publishEvent(GenreChangedEvent.created(GenreSnapshot.of(savedGenre)));
         return genreMapper.toDto(savedGenre);
     }
 
@@ -43,35 +67,184 @@ public class GenreService {
     }
 
     @Transactional(readOnly = true)
+    public CursorPage<GenreDto> findGenresPage(String after, int limit, boolean includeTotal) {
+        return findGenresPage(after, limit, includeTotal, FieldSelection.all());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<GenreDto> findGenresPage(String after, int limit, boolean includeTotal, FieldSelection fields) {
+        validationService.validatePageLimit(limit);
+        long afterId = CursorCodec.decode(after);
+
+        List<GenreDto> genres = fields.isAll()
+                ? genreRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1)).stream()
+                        .map(genreMapper::toDto)
+                        .collect(Collectors.toList())
+                : genreRepository.findProjectedPage(fields, afterId, limit + 1);
+        genres.forEach(this::withPendingFollowers);
+        Long total = includeTotal ? approximateCounts.get("genres", genreRepository::count) : null;
+        return CursorPage.of(genres, limit, GenreDto::getId, total);
+    }
+
     public GenreDto findGenreById(Long id) {
-        Genre genre = genreRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Genre", id));
-        return genreMapper.toDto(genre);
+        return findVersionedGenre(id).getGenre();
+    }
+
+    public GenreDto findGenreById(Long id, FieldSelection fields) {
+        return project(findVersionedGenre(id).getGenre(), fields);
+    }
+
+    /**
+     * Concurrent reads of the same genre share one query, revision included; see
+     * {@link ReadCoalescer}. The revision is the stored version plus the follower count
+     * served, buffered follows included; the follower flush leaves the version alone.
+     */
+    public VersionedGenre findVersionedGenre(Long id) {
+        return readCoalescer.genre(id, () -> {
+            Genre genre = genreRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Genre", id));
+            long pending = followerCounters.pendingDelta(id);
+            GenreDto dto = withPendingFollowers(genreMapper.toDto(genre), pending);
+            return new VersionedGenre(dto, revision(genre, pending));
+        });
+    }
+
+    /**
+     * Copies the selected fields of a shared DTO; a full selection returns it as is.
+     */
+    public static GenreDto project(GenreDto genre, FieldSelection fields) {
+        if (fields.isAll()) {
+            return genre;
+        }
+        return GenreDto.builder()
+                .id(genre.getId())
+                .name(fields.includes("name") ? genre.getName() : null)
+                .followerCount(fields.includes("followerCount") ? genre.getFollowerCount() : null)
+                .build();
+    }
+
+    public void followGenre(Long id) {
+        requireKnownGenre(id);
+        followerCounters.add(id, 1);
+        collectionVersions.bump(CollectionVersions.GENRES);
+    }
+
+    public void unfollowGenre(Long id) {
+        requireKnownGenre(id);
+        followerCounters.add(id, -1);
+        collectionVersions.bump(CollectionVersions.GENRES);
     }
 
     @Transactional
     public GenreDto updateGenre(Long id, GenreDto genreDto) {
+        return updateGenre(id, genreDto, null);
+    }
+
+    @Transactional
+    public GenreDto updateGenre(Long id, GenreDto genreDto, Long expectedVersion) {
         validationService.validateGenreName(genreDto.getName());
         validationService.validateFollowerCount(genreDto.getFollowerCount());
 
         Genre existingGenre = genreRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Genre", id));
+        validationService.validateVersion(existingGenre.getVersion(), expectedVersion);
 
         if (!existingGenre.getName().equals(genreDto.getName())
                 && genreRepository.existsByName(genreDto.getName())) {
             throw new IllegalArgumentException("Genre with name '" + genreDto.getName() + "' already exists");
         }
 
+        GenreSnapshot previous = GenreSnapshot.of(existingGenre);
         genreMapper.updateEntityFromDto(genreDto, existingGenre);
         Genre updatedGenre = genreRepository.save(existingGenre);
+        eventPublisher.publishEvent(GenreChangedEvent.updated(previous, GenreSnapshot.of(updatedGenre)));
         return genreMapper.toDto(updatedGenre);
     }
 
+    /**
+     * Applies a JSON Merge Patch and returns the new revision. A duplicate name is
+     * reported by the unique index instead of an {@code existsByName} probe.
+     */
+    @Transactional
+    public String patchGenre(Long id, JsonNode document, Long expectedVersion) {
+        MergePatch patch = MergePatch.of(document, PATCHABLE_FIELDS);
+        String name = patch.has("name") ? patch.text("name") : null;
+        Integer followerCount = patch.has("followerCount") ? patch.integer("followerCount") : null;
+        if (name != null) {
+            validationService.validateGenreName(name);
+        }
+        if (followerCount != null) {
+            validationService.validateFollowerCount(followerCount);
+        }
+
+        Genre genre = genreRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Genre", id));
+        validationService.validateVersion(genre.getVersion(), expectedVersion);
+        GenreSnapshot previous = GenreSnapshot.of(genre);
+        Integer previousFollowers = genre.getFollowerCount();
+
+        if (name != null) {
+            genre.setName(name);
+        }
+        if (followerCount != null) {
+            genre.setFollowerCount(followerCount);
+        }
+
+        try {
+            genreRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            throw new IllegalArgumentException("Genre with name '" + name + "' already exists");
+        }
+
+        GenreSnapshot current = GenreSnapshot.of(genre);
+        if (!current.equals(previous) || !genre.getFollowerCount().equals(previousFollowers)) {
+            eventPublisher.publishEvent(GenreChangedEvent.updated(previous, current));
+        }
+        return revision(genre, followerCounters.pendingDelta(id));
+    }
+
     @Transactional
     public void deleteGenre(Long id) {
-        if (!genreRepository.existsById(id)) {
+        deleteGenre(id, null);
+    }
+
+    @Transactional
+    public void deleteGenre(Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            if (!genreRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Genre", id);
+            }
+        } else {
+            long version = genreRepository.findVersionById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Genre", id));
+            validationService.validateVersion(version, expectedVersion);
+        }
+        // Hides the genre and its movies right away; GenrePurgeService removes the rows.
+        genreRepository.markDeleted(id);
+        eventPublisher.publishEvent(GenreChangedEvent.deleted(new GenreSnapshot(id, null)));
+    }
+
+    private void requireKnownGenre(Long id) {
+        if (!followerCounters.isKnownGenre(id, genreRepository::existsById)) {
             throw new ResourceNotFoundException("Genre", id);
         }
-        genreRepository.deleteById(id);
+    }
+
+    /**
+     * Follows that have not been flushed yet still count towards what readers see.
+     */
+    private GenreDto withPendingFollowers(GenreDto dto) {
+        return withPendingFollowers(dto, followerCounters.pendingDelta(dto.getId()));
+    }
+
+    private static String revision(Genre genre, long pending) {
+        return genre.getVersion() + "." + Math.max(0, genre.getFollowerCount() + pending);
+    }
+
+    private static GenreDto withPendingFollowers(GenreDto dto, long pending) {
+        if (pending != 0 && dto.getFollowerCount() != null) {
+            dto.setFollowerCount((int) Math.max(0, dto.getFollowerCount() + pending));
+        }
+        return dto;
     }
 }
@@ -0,0 +1,217 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.dto.GenreStatsDto;
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
+import com.example.movie_api.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Keeps count, rating sum and a rating histogram per genre in {@code genre_stats}.
+ *
+ * <p>Movie changes are folded into per-genre deltas for the current transaction and
+ * written with one batched UPDATE just before it commits, so a bulk insert costs one
+ * statement per touched genre rather than one per movie. The nightly rebuild recomputes
+ * every row from {@code movie} to repair drift.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Timed(value = "service.calls", histogram = true)
+public class GenreStatsService {
+
+    static final int BUCKETS = 10;
+
+    private static final String BUCKET_COLUMNS = IntStream.range(0, BUCKETS)
+            .mapToObj(i -> "bucket_" + i)
+            .collect(Collectors.joining(", "));
+
+    private static final String UPDATE_SQL = "update genre_stats set movie_count = movie_count + ?, rating_sum = rating_sum + ?, "
+            + IntStream.range(0, BUCKETS)
+                    .mapToObj(i -> "bucket_" + i + " = bucket_" + i + " + ?")
+                    .collect(Collectors.joining(", "))
+            + " where genre_id = ?";
+
+    private static final String INSERT_SQL = "insert into genre_stats (movie_count, rating_sum, " + BUCKET_COLUMNS
+            + ", genre_id) select ?, ?, " + "?, ".repeat(BUCKETS) + "id from genre where id = ?";
+
+    private static final String SELECT_SQL = "select g.id, g.name, s.movie_count, s.rating_sum, "
+            + IntStream.range(0, BUCKETS).mapToObj(i -> "s.bucket_" + i).collect(Collectors.joining(", "))
+            + " from genre g left join genre_stats s on s.genre_id = g.id where not g.deleted";
+
+    private static final String REBUILD_SQL = "insert into genre_stats (genre_id, movie_count, rating_sum, " + BUCKET_COLUMNS + ")"
+            + " select g.id, count(m.id), coalesce(sum(m.rating), 0), "
+            + IntStream.range(0, BUCKETS)
+                    .mapToObj(i -> "count(case when least(floor(m.rating), " + (BUCKETS - 1) + ") = " + i + " then 1 end)")
+                    .collect(Collectors.joining(", "))
+            + " from genre g left join movie m on m.genre_id = g.id group by g.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        boolean deferred = TransactionSynchronizationManager.isSynchronizationActive();
+        Map<Long, StatsDelta> deltas = deferred ? transactionDeltas() : new HashMap<>();
+
+        if (event.getPrevious() != null) {
+            add(deltas, event.getPrevious(), -1);
+        }
+        if (event.getCurrent() != null) {
+            add(deltas, event.getCurrent(), 1);
+        }
+
+        if (!deferred) {
+            apply(deltas);
+        }
+    }
+
+    @EventListener
+    public void onGenreChanged(GenreChangedEvent event) {
+        if (event.getPrevious() == null) {
+            jdbcTemplate.update("insert into genre_stats (genre_id) values (?)", event.getGenreId());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<GenreStatsDto> findAllStats() {
+        return jdbcTemplate.query(SELECT_SQL + " order by g.id", STATS_ROW);
+    }
+
+    @Transactional(readOnly = true)
+    public GenreStatsDto findStats(Long genreId) {
+        return jdbcTemplate.query(SELECT_SQL + " and g.id = ?", STATS_ROW, genreId).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Genre", genreId));
+    }
+
+    /**
+     * Recomputes every genre's row from the movie table in two set-based statements.
+     */
+    @Scheduled(cron = "${genre.stats.rebuild-cron:0 0 3 * * *}")
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("delete from genre_stats");
+        jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    static int bucketOf(double rating) {
+        return Math.max(0, Math.min((int) Math.floor(rating), BUCKETS - 1));
+    }
+
+    private Map<Long, StatsDelta> transactionDeltas() {
+        @SuppressWarnings("unchecked")
+        Map<Long, StatsDelta> deltas = (Map<Long, StatsDelta>) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            Map<Long, StatsDelta> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    apply(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(GenreStatsService.this);
+                }
+            });
+            deltas = created;
+        }
+        return deltas;
+    }
+
+    private static void add(Map<Long, StatsDelta> deltas, MovieSnapshot movie, int sign) {
+        StatsDelta delta = deltas.computeIfAbsent(movie.getGenreId(), id -> new StatsDelta());
+        delta.count += sign;
+        delta.ratingSum += sign * movie.getRating();
+        delta.buckets[bucketOf(movie.getRating())] += sign;
+    }
+
+    private void apply(Map<Long, StatsDelta> deltas) {
+        List<Long> genreIds = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        deltas.forEach((genreId, delta) -> {
+            if (!delta.isEmpty()) {
+                genreIds.add(genreId);
+                updates.add(delta.toArgs(genreId));
+            }
+        });
+        deltas.clear();
+
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                missing.add(updates.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            // Genres inserted without going through GenreService have no row yet; deleted ones are skipped.
+            jdbcTemplate.batchUpdate(INSERT_SQL, missing);
+        }
+    }
+
+    private static final RowMapper<GenreStatsDto> STATS_ROW = (rs, rowNum) -> {
+        long movieCount = rs.getLong(3);
+        List<Long> histogram = new ArrayList<>(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.add(rs.getLong(5 + i));
+        }
+        return GenreStatsDto.builder()
+                .genreId(rs.getLong(1))
+                .genreName(rs.getString(2))
+                .movieCount(movieCount)
+                .averageRating(movieCount > 0 ? rs.getDouble(4) / movieCount : null)
+                .ratingHistogram(histogram)
+                .build();
+    };
+
+    private static final class StatsDelta {
+        private long count;
+        private double ratingSum;
+        private final long[] buckets = new long[BUCKETS];
+
+        boolean isEmpty() {
+            if (count != 0 || ratingSum != 0) {
+                return false;
+            }
+            for (long bucket : buckets) {
+                if (bucket != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Object[] toArgs(Long genreId) {
+            Object[] args = new Object[BUCKETS + 3];
+            args[0] = count;
+            args[1] = ratingSum;
+            for (int i = 0; i < BUCKETS; i++) {
+                args[2 + i] = buckets[i];
+            }
+            args[BUCKETS + 2] = genreId;
+            return args;
+        }
+    }
+}
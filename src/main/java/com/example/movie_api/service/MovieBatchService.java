@@ -0,0 +1,202 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.dto.BatchResult;
+import com.example.movie_api.dto.BatchRowResult;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
+import com.example.movie_api.mapper.MovieMapper;
+import com.example.movie_api.model.Movie;
+import com.example.movie_api.repository.GenreRepository;
+import com.example.movie_api.repository.MovieRepository;
+import com.example.movie_api.validation.ValidationReport;
+import com.example.movie_api.validation.ValidationService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk write path for catalog drops. Rows are consumed from an iterator and
+ * written in chunks, each chunk in its own transaction, so neither the request
+ * body nor the persistence context grows with the size of the drop.
+ * {@link #ingest} only inserts; {@link #upsert} updates rows that carry the id
+ * of an existing movie and inserts the rest.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed(value = "service.calls", histogram = true)
+public class MovieBatchService {
+
+    private final GenreRepository genreRepository;
+    private final MovieRepository movieRepository;
+    private final MovieMapper movieMapper;
+    private final ValidationService validationService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${movie.batch.chunk-size:500}")
+    private int chunkSize;
+
+    public BatchResult ingest(Iterator<MovieDto> movies) {
+        return write(movies, false);
+    }
+
+    /**
+     * Like {@link #ingest}, but a row with an id replaces that movie. An id that names
+     * no live movie is rejected rather than inserted under an id the sequence may hand out later.
+     */
+    public BatchResult upsert(Iterator<MovieDto> movies) {
+        return write(movies, true);
+    }
+
+    private BatchResult write(Iterator<MovieDto> movies, boolean upsert) {
+        BatchResult result = new BatchResult();
+        GenreLookup genres = new GenreLookup();
+        List<MovieDto> chunk = new ArrayList<>(chunkSize);
+        int firstIndex = 0;
+
+        try {
+            while (movies.hasNext()) {
+                chunk.add(movies.next());
+                if (chunk.size() == chunkSize) {
+                    ingestChunk(chunk, firstIndex, genres, upsert, result);
+                    firstIndex += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            result.setError(ex.getMessage());
+        }
+
+        if (!chunk.isEmpty()) {
+            ingestChunk(chunk, firstIndex, genres, upsert, result);
+        }
+        return result;
+    }
+
+    private void ingestChunk(List<MovieDto> chunk, int firstIndex, GenreLookup genres, boolean upsert,
+                             BatchResult result) {
+        BatchRowResult[] rows = new BatchRowResult[chunk.size()];
+        List<Integer> accepted = new ArrayList<>(chunk.size());
+        ValidationReport report = validationService.validateMovies(chunk);
+
+        for (int i = 0; i < chunk.size(); i++) {
+            if (!report.isValid(i)) {
+                rows[i] = BatchRowResult.rejected(firstIndex + i, report.messageFor(i));
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        genres.resolve(accepted.stream().map(i -> chunk.get(i).getGenreId()).collect(Collectors.toSet()));
+        accepted.removeIf(i -> {
+            Long genreId = chunk.get(i).getGenreId();
+            if (genres.exists(genreId)) {
+                return false;
+            }
+            rows[i] = BatchRowResult.rejected(firstIndex + i, "Genre not found with id: " + genreId);
+            return true;
+        });
+
+        try {
+            List<BatchRowResult> written = transactionTemplate.execute(status -> store(chunk, accepted, firstIndex, upsert));
+            for (int n = 0; n < accepted.size(); n++) {
+                rows[accepted.get(n)] = written.get(n);
+            }
+        } catch (DataAccessException ex) {
+            for (int i : accepted) {
+                rows[i] = BatchRowResult.rejected(firstIndex + i, "Row could not be stored");
+            }
+        }
+
+        for (BatchRowResult row : rows) {
+            result.add(row);
+        }
+    }
+
+    private List<BatchRowResult> store(List<MovieDto> chunk, List<Integer> accepted, int firstIndex, boolean upsert) {
+        Map<Long, Movie> existing = upsert ? findExisting(chunk, accepted) : Map.of();
+        List<BatchRowResult> written = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            MovieDto dto = chunk.get(i);
+            Long id = upsert ? dto.getId() : null;
+            if (id == null) {
+                Movie movie = movieMapper.toEntity(dto, genreRepository.getReferenceById(dto.getGenreId()));
+                movie.setId(null);
+                entityManager.persist(movie);
+                written.add(BatchRowResult.created(firstIndex + i, movie.getId()));
+                eventPublisher.publishEvent(MovieChangedEvent.created(MovieSnapshot.of(movie)));
+                continue;
+            }
+
+            Movie movie = existing.get(id);
+            if (movie == null) {
+                written.add(BatchRowResult.rejected(firstIndex + i, "Movie not found with id: " + id));
+                continue;
+            }
+            MovieSnapshot previous = MovieSnapshot.of(movie);
+            movieMapper.updateEntityFromDto(dto, movie, genreRepository.getReferenceById(dto.getGenreId()));
+            written.add(BatchRowResult.updated(firstIndex + i, id));
+            eventPublisher.publishEvent(MovieChangedEvent.updated(previous, MovieSnapshot.of(movie)));
+        }
+
+        // Inserts and updates go out as JDBC batches here; clearing keeps the context from growing across chunks.
+        entityManager.flush();
+        entityManager.clear();
+        return written;
+    }
+
+    private Map<Long, Movie> findExisting(List<MovieDto> chunk, List<Integer> accepted) {
+        Set<Long> ids = accepted.stream()
+                .map(i -> chunk.get(i).getId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return movieRepository.findWithLiveGenreByIdIn(ids).stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+    }
+
+    /**
+     * Remembers which genre ids exist for the whole request so each id is looked up once.
+     */
+    private class GenreLookup {
+        private final Set<Long> existing = new HashSet<>();
+        private final Set<Long> missing = new HashSet<>();
+
+        void resolve(Set<Long> genreIds) {
+            Set<Long> unknown = new HashSet<>(genreIds);
+            unknown.removeAll(existing);
+            unknown.removeAll(missing);
+            if (unknown.isEmpty()) {
+                return;
+            }
+
+            Set<Long> found = genreRepository.findExistingIds(unknown);
+            existing.addAll(found);
+            unknown.removeAll(found);
+            missing.addAll(unknown);
+        }
+
+        boolean exists(Long genreId) {
+            return existing.contains(genreId);
+        }
+    }
+}
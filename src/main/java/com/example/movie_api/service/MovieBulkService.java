@@ -0,0 +1,123 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.dto.BulkDeleteRequest;
+import com.example.movie_api.dto.BulkResult;
+import com.example.movie_api.dto.BulkUpdateRequest;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
+import com.example.movie_api.exception.ResourceNotFoundException;
+import com.example.movie_api.repository.GenreRepository;
+import com.example.movie_api.repository.MovieRepository;
+import com.example.movie_api.validation.ValidationService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Catalog maintenance in a fixed number of statements: one SELECT for the rows
+ * that exist (their snapshots feed the usual change events) and one UPDATE or
+ * DELETE, all in a single transaction. Movies of a soft-deleted genre count as
+ * missing; the purge removes them. A filter may match at most
+ * {@value #MAX_FILTER_MATCHES} movies, the same bound as an explicit id list, so one
+ * request can never load and delete an unbounded part of the catalog.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed(value = "service.calls", histogram = true)
+public class MovieBulkService {
+
+    static final int MAX_FILTER_MATCHES = 1000;
+
+    private final MovieRepository movieRepository;
+    private final GenreRepository genreRepository;
+    private final ValidationService validationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public BulkResult deleteMovies(BulkDeleteRequest request) {
+        if (request.hasIds() == request.hasFilter()) {
+            throw new IllegalArgumentException("Bulk delete needs either ids or a filter");
+        }
+
+        List<MovieSnapshot> found;
+        List<Long> notFound;
+        if (request.hasIds()) {
+            Set<Long> ids = distinctIds(request.getIds());
+            found = movieRepository.findSnapshotsByIdIn(ids);
+            notFound = missing(ids, found);
+        } else {
+            found = movieRepository.findSnapshotsMatching(
+                    request.getGenreId(), request.getDirector(), request.getMaxRating(), MAX_FILTER_MATCHES + 1);
+            if (found.size() > MAX_FILTER_MATCHES) {
+                throw new IllegalArgumentException("Bulk delete filter matches more than " + MAX_FILTER_MATCHES
+                        + " movies; narrow the filter or list the ids");
+            }
+            notFound = new ArrayList<>();
+        }
+
+        List<Long> affected = idsOf(found);
+        if (!affected.isEmpty()) {
+            movieRepository.deleteByIdIn(affected);
+        }
+        found.forEach(previous -> eventPublisher.publishEvent(MovieChangedEvent.deleted(previous)));
+        return new BulkResult(affected, notFound);
+    }
+
+    @Transactional
+    public BulkResult updateMovies(BulkUpdateRequest request) {
+        Double rating = request.getRating();
+        Long genreId = request.getGenreId();
+        if (rating == null && genreId == null) {
+            throw new IllegalArgumentException("Bulk update needs a rating or a genreId");
+        }
+        if (rating != null) {
+            validationService.validateRating(rating);
+        }
+        if (genreId != null && !genreRepository.existsById(genreId)) {
+            throw new ResourceNotFoundException("Genre", genreId);
+        }
+
+        Set<Long> ids = distinctIds(request.getIds());
+        List<MovieSnapshot> found = movieRepository.findSnapshotsByIdIn(ids);
+        List<Long> affected = idsOf(found);
+        if (!affected.isEmpty()) {
+            movieRepository.updateRatingAndGenre(affected, rating, genreId);
+        }
+
+        for (MovieSnapshot previous : found) {
+            MovieSnapshot current = new MovieSnapshot(
+                    previous.getId(),
+                    previous.getTitle(),
+                    previous.getDirector(),
+                    rating != null ? rating : previous.getRating(),
+                    genreId != null ? genreId : previous.getGenreId());
+            eventPublisher.publishEvent(MovieChangedEvent.updated(previous, current));
+        }
+        return new BulkResult(affected, missing(ids, found));
+    }
+
+    private Set<Long> distinctIds(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        validationService.validateBulkSize(distinct.size());
+        return distinct;
+    }
+
+    private static List<Long> idsOf(List<MovieSnapshot> snapshots) {
+        return snapshots.stream().map(MovieSnapshot::getId).collect(Collectors.toList());
+    }
+
+    private static List<Long> missing(Set<Long> requested, List<MovieSnapshot> found) {
+        Set<Long> remaining = new LinkedHashSet<>(requested);
+        found.forEach(snapshot -> remaining.remove(snapshot.getId()));
+        return new ArrayList<>(remaining);
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.dto.BatchResult;
+import com.example.movie_api.dto.BatchRowResult;
+import com.example.movie_api.dto.IngestJobDto;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.exception.QueueFullException;
+import com.example.movie_api.validation.ValidationReport;
+import com.example.movie_api.validation.ValidationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind ingestion for partner feeds. Rows are validated when submitted and
+ * queued in memory; a single writer thread drains the queue into the chunked upserts
+ * of {@link MovieBatchService#upsert}: a row with an id replaces that movie, any other
+ * row is inserted. Capacity is reserved per job, all or nothing, and only returned
+ * once rows are written, so a full queue rejects a burst up front instead of
+ * accepting part of it. Requests are read row by row and refused once they
+ * exceed the queue capacity, so an oversized body is never bound in full. Jobs are
+ * kept until {@code job-retention} after they complete. Queued rows do not survive a
+ * restart.
+ */
+@Service
+@Timed(value = "service.calls", histogram = true)
+public class MovieIngestService {
+
+    private final MovieBatchService movieBatchService;
+    private final ValidationService validationService;
+    private final BlockingQueue<QueuedMovie> queue = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    private final int queueCapacity;
+    private final int writeBatchSize;
+    private final long retryAfterSeconds;
+    private final Cache<String, IngestJob> jobs;
+
+    private volatile Thread writer;
+
+    public MovieIngestService(
+            MovieBatchService movieBatchService,
+            ValidationService validationService,
+            @Value("${movie.ingest.queue-capacity:10000}") int queueCapacity,
+            @Value("${movie.ingest.write-batch-size:500}") int writeBatchSize,
+            @Value("${movie.ingest.retry-after:5s}") Duration retryAfter,
+            @Value("${movie.ingest.job-retention:1h}") Duration jobRetention) {
+        this.movieBatchService = movieBatchService;
+        this.validationService = validationService;
+        this.queueCapacity = queueCapacity;
+        this.capacity = new Semaphore(queueCapacity);
+        this.writeBatchSize = writeBatchSize;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.jobs = Caffeine.newBuilder()
+                .expireAfter(new CompletionExpiry<String, IngestJob>(IngestJob::finished, jobRetention))
+                .build();
+    }
+
+    public IngestJobDto submit(Iterator<MovieDto> rows) {
+        if (capacity.availablePermits() == 0) {
+            throw new QueueFullException("Ingest queue is full, retry later", retryAfterSeconds);
+        }
+        List<MovieDto> movies = new ArrayList<>();
+        while (rows.hasNext()) {
+            if (movies.size() == queueCapacity) {
+                throw new IllegalArgumentException("Ingest request cannot exceed " + queueCapacity + " rows");
+            }
+            movies.add(rows.next());
+        }
+        if (movies.isEmpty()) {
+            throw new IllegalArgumentException("Ingest request must contain at least one movie");
+        }
+
+        IngestJob job = new IngestJob(UUID.randomUUID().toString(), movies.size());
+        List<QueuedMovie> accepted = new ArrayList<>(movies.size());
+        ValidationReport report = validationService.validateMovies(movies);
+        for (int i = 0; i < movies.size(); i++) {
+            if (!report.isValid(i)) {
+                job.reject(BatchRowResult.rejected(i, report.messageFor(i)));
+            } else {
+                accepted.add(new QueuedMovie(job, i, movies.get(i)));
+            }
+        }
+
+        if (!capacity.tryAcquire(accepted.size())) {
+            throw new QueueFullException("Ingest queue is full, retry later", retryAfterSeconds);
+        }
+
+        job.expect(accepted.size());
+        jobs.put(job.id, job);
+        queue.addAll(accepted);
+        return job.toDto();
+    }
+
+    public Optional<IngestJobDto> findJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(IngestJob::toDto);
+    }
+
+    public Optional<List<BatchRowResult>> findRejections(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(IngestJob::rejections);
+    }
+
+    public int getQueuedRows() {
+        return queueCapacity - capacity.availablePermits();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startWriter() {
+        if (writer == null) {
+            writer = new Thread(this::drain, "movie-ingest-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stopWriter() throws InterruptedException {
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+            writer = null;
+        }
+    }
+
+    private void drain() {
+        List<QueuedMovie> batch = new ArrayList<>(writeBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                QueuedMovie first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, writeBatchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                capacity.release(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<QueuedMovie> batch) {
+        BatchRowResult[] rows = new BatchRowResult[batch.size()];
+        try {
+            BatchResult result = movieBatchService.upsert(batch.stream().map(QueuedMovie::movie).iterator());
+            for (BatchRowResult row : result.getRows()) {
+                rows[row.getIndex()] = row;
+            }
+        } catch (RuntimeException ex) {
+            // Fall through: every row without a result is reported as not stored.
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            QueuedMovie item = batch.get(i);
+            BatchRowResult row = rows[i];
+            if (row == null) {
+                row = BatchRowResult.rejected(item.index(), "Row could not be stored");
+            } else {
+                row.setIndex(item.index());
+            }
+            item.job().complete(row);
+        }
+        // Written again so that the retention period starts at completion.
+        batch.stream()
+                .map(QueuedMovie::job)
+                .distinct()
+                .filter(IngestJob::finished)
+                .forEach(job -> jobs.put(job.id, job));
+    }
+
+    private record QueuedMovie(IngestJob job, int index, MovieDto movie) {
+    }
+
+    private static final class IngestJob {
+        private final String id;
+        private final int submitted;
+        private final Instant submittedAt = Instant.now();
+        private final List<BatchRowResult> rejections = new ArrayList<>();
+        private int created;
+        private int updated;
+        private int pending;
+        private Instant completedAt;
+
+        private IngestJob(String id, int submitted) {
+            this.id = id;
+            this.submitted = submitted;
+        }
+
+        private synchronized void expect(int rows) {
+            pending = rows;
+            if (pending == 0) {
+                completedAt = Instant.now();
+            }
+        }
+
+        private synchronized void reject(BatchRowResult row) {
+            rejections.add(row);
+        }
+
+        private synchronized void complete(BatchRowResult row) {
+            switch (row.getStatus()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                default -> rejections.add(row);
+            }
+            if (--pending == 0) {
+                completedAt = Instant.now();
+            }
+        }
+
+        private synchronized boolean finished() {
+            return completedAt != null;
+        }
+
+        private synchronized List<BatchRowResult> rejections() {
+            List<BatchRowResult> sorted = new ArrayList<>(rejections);
+            sorted.sort(Comparator.comparingInt(BatchRowResult::getIndex));
+            return sorted;
+        }
+
+        private synchronized IngestJobDto toDto() {
+            return new IngestJobDto(
+                    id,
+                    completedAt == null ? IngestJobDto.State.QUEUED : IngestJobDto.State.COMPLETED,
+                    submitted,
+                    created,
+                    updated,
+                    rejections.size(),
+                    pending,
+                    submittedAt,
+                    completedAt);
+        }
+    }
+}
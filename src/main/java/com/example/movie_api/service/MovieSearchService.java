@@ -0,0 +1,118 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
+import com.example.movie_api.pagination.CursorPage;
+import com.example.movie_api.repository.MovieRepository;
+import com.example.movie_api.search.MovieSearchIndex;
+import com.example.movie_api.search.SearchHits;
+import com.example.movie_api.validation.ValidationService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Title and director search over an in-memory index that follows committed movie
+ * changes and drops a genre's movies once the genre is soft-deleted, so hit totals
+ * agree with the rows that can still be read. A rebuild fills a fresh index and swaps
+ * it in; changes that commit meanwhile are replayed onto it.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed(value = "service.calls", histogram = true)
+public class MovieSearchService {
+
+    private final MovieRepository movieRepository;
+    private final ValidationService validationService;
+    private volatile MovieSearchIndex index = new MovieSearchIndex();
+    private volatile Queue<Consumer<MovieSearchIndex>> changesDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuildIndex() {
+        Queue<Consumer<MovieSearchIndex>> changes = new ConcurrentLinkedQueue<>();
+        changesDuringRebuild = changes;
+        try {
+            MovieSearchIndex fresh = new MovieSearchIndex();
+            try (Stream<MovieDto> movies = movieRepository.streamAllDtos()) {
+                movies.forEach(movie -> fresh.put(movie.getId(), movie.getTitle(), movie.getDirector(), movie.getGenreId()));
+            }
+            index = fresh;
+            // In commit order, so the last change to a movie wins.
+            for (Consumer<MovieSearchIndex> change = changes.poll(); change != null; change = changes.poll()) {
+                change.accept(fresh);
+            }
+        } finally {
+            changesDuringRebuild = null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (event.isDeleted()) {
+            apply(target -> target.remove(event.getMovieId()));
+            return;
+        }
+
+        MovieSnapshot movie = event.getCurrent();
+        apply(target -> target.put(movie.getId(), movie.getTitle(), movie.getDirector(), movie.getGenreId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGenreChanged(GenreChangedEvent event) {
+        if (event.isDeleted()) {
+            apply(target -> target.removeGenre(event.getGenreId()));
+        }
+    }
+
+    private void apply(Consumer<MovieSearchIndex> change) {
+        Queue<Consumer<MovieSearchIndex>> changes = changesDuringRebuild;
+        if (changes != null) {
+            changes.add(change);
+        }
+        change.accept(index);
+    }
+
+    /**
+     * Ranks matches in memory and only loads the rows of the requested page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MovieDto> search(String query, int offset, int limit) {
+        validationService.validatePageLimit(limit);
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be blank");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+
+        SearchHits hits = index.search(query, offset, limit);
+        if (hits.getIds().isEmpty()) {
+            return new CursorPage<>(List.of(), null, (long) hits.getTotal());
+        }
+
+        Map<Long, MovieDto> rows = movieRepository.findDtosByIdIn(hits.getIds()).stream()
+                .collect(Collectors.toMap(MovieDto::getId, Function.identity()));
+        List<MovieDto> ranked = hits.getIds().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new CursorPage<>(ranked, null, (long) hits.getTotal());
+    }
+}
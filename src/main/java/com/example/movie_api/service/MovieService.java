@@ -2,27 +2,57 @@ package com.example.movie_api.service;
 
 import com.example.movie_api.repository.GenreRepository;
 import com.example.movie_api.repository.MovieRepository;
+import com.example.movie_api.cache.GenreMovies;
+import com.example.movie_api.cache.GenreMoviesCache;
+import com.example.movie_api.cache.KnownIds;
+import com.example.movie_api.cache.MovieDtoCache;
+import com.example.movie_api.cache.VersionedMovie;
 import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
 import com.example.movie_api.exception.ResourceNotFoundException;
 import com.example.movie_api.mapper.MovieMapper;
 import com.example.movie_api.model.Genre;
 import com.example.movie_api.model.Movie;
+import com.example.movie_api.pagination.ApproximateCounts;
+import com.example.movie_api.patch.MergePatch;
+import com.example.movie_api.pagination.CursorCodec;
+import com.example.movie_api.pagination.CursorPage;
+import com.example.movie_api.projection.FieldSelection;
+import com.example.movie_api.validation.ValidationMessages;
 import com.example.movie_api.validation.ValidationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.calls", histogram = true)
 public class MovieService {
 
+    private static final List<String> PATCHABLE_FIELDS = List.of("title", "director", "rating", "genreId");
+
     private final MovieRepository movieRepository;
     private final GenreRepository genreRepository;
     private final MovieMapper movieMapper;
     private final ValidationService validationService;
+    private final ApproximateCounts approximateCounts;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GenreMoviesCache genreMoviesCache;
+    private final MovieDtoCache movieDtoCache;
+    private final KnownIds knownIds;
 
     @Transactional
     public MovieDto createMovie(MovieDto movieDto) {
@@ -33,54 +63,253 @@ public class MovieService {
 
         Movie movie = movieMapper.toEntity(movieDto, genre);
         Movie savedMovie = movieRepository.save(movie);
+        eventPublisher.publishEvent(MovieChangedEvent.created(MovieSnapshot.of(savedMovie)));
         return movieMapper.toDto(savedMovie);
     }
 
     @Transactional(readOnly = true)
     public List<MovieDto> findAllMovies() {
-        return movieRepository.findAll().stream()
-                .map(movieMapper::toDto)
-                .collect(Collectors.toList());
+        return movieRepository.findAllDtos();
     }
 
     @Transactional(readOnly = true)
-    public MovieDto findMovieById(Long id) {
-        Movie movie = movieRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Movie", id));
-        return movieMapper.toDto(movie);
+    public CursorPage<MovieDto> findMoviesPage(String after, int limit, boolean includeTotal) {
+        return findMoviesPage(after, limit, includeTotal, FieldSelection.all());
     }
 
     @Transactional(readOnly = true)
+    public CursorPage<MovieDto> findMoviesPage(String after, int limit, boolean includeTotal, FieldSelection fields) {
+        validationService.validatePageLimit(limit);
+        long afterId = CursorCodec.decode(after);
+
+        List<MovieDto> movies = fields.isAll()
+                ? movieRepository.findDtoPage(afterId, Limit.of(limit + 1))
+                : movieRepository.findProjectedPage(fields, null, afterId, limit + 1);
+        Long total = includeTotal ? approximateCounts.get("movies", movieRepository::countWithLiveGenre) : null;
+        return CursorPage.of(movies, limit, MovieDto::getId, total);
+    }
+
+    /**
+     * Pushes every movie to the sink in id order without materializing the catalog.
+     * Each entity is detached once mapped so the persistence context stays small.
+     */
+    @Transactional(readOnly = true)
+    public void exportMovies(Consumer<MovieDto> sink) {
+        try (Stream<Movie> movies = movieRepository.streamAllWithGenre()) {
+            movies.forEach(movie -> {
+                sink.accept(movieMapper.toDto(movie));
+                entityManager.detach(movie);
+            });
+        }
+    }
+
+    public MovieDto findMovieById(Long id) {
+        return findMovieById(id, FieldSelection.all());
+    }
+
+    public MovieDto findMovieById(Long id, FieldSelection fields) {
+        return project(findVersionedMovie(id).getMovie(), fields);
+    }
+
+    /**
+     * Ids the filter knows are absent answer 404 straight away. Reads are served from
+     * the near cache, version included, so a hit costs no query; misses for the same id
+     * share one. No transaction is opened here, so callers waiting on another request's
+     * query hold no connection.
+     */
+    public VersionedMovie findVersionedMovie(Long id) {
+        knownIds.requireMovie(id);
+        VersionedMovie movie = movieDtoCache.get(id, key -> movieRepository.findVersionedById(key).orElse(null));
+        if (movie == null) {
+            throw new ResourceNotFoundException("Movie", id);
+        }
+        return movie;
+    }
+
     public List<MovieDto> findMoviesByGenre(Long genreId) {
-        if (!genreRepository.existsById(genreId)) {
-            throw new ResourceNotFoundException("Genre", genreId);
+        GenreMovies cached = findGenreMovies(genreId);
+        if (cached.isComplete()) {
+            return cached.getMovies();
         }
 
-        return movieRepository.findByGenreId(genreId).stream()
-                .map(movieMapper::toDto)
-                .collect(Collectors.toList());
+        return movieRepository.findDtosByGenreId(genreId);
+    }
+
+    public CursorPage<MovieDto> findMoviesByGenrePage(Long genreId, String after, int limit, boolean includeTotal) {
+        return findMoviesByGenrePage(genreId, after, limit, includeTotal, FieldSelection.all());
+    }
+
+    /**
+     * A cached genre is trimmed in memory; otherwise the seek query selects only the requested columns.
+     */
+    public CursorPage<MovieDto> findMoviesByGenrePage(
+            Long genreId, String after, int limit, boolean includeTotal, FieldSelection fields) {
+        validationService.validatePageLimit(limit);
+        long afterId = CursorCodec.decode(after);
+        GenreMovies cached = findGenreMovies(genreId);
+        if (cached.isComplete()) {
+            Long total = includeTotal ? (long) cached.getMovies().size() : null;
+            List<MovieDto> slice = cached.slice(afterId, limit + 1);
+            if (!fields.isAll()) {
+                slice = slice.stream().map(movie -> project(movie, fields)).collect(Collectors.toList());
+            }
+            return CursorPage.of(slice, limit, MovieDto::getId, total);
+        }
+
+        List<MovieDto> movies = fields.isAll()
+                ? movieRepository.findDtoPageByGenreId(genreId, afterId, Limit.of(limit + 1))
+                : movieRepository.findProjectedPage(fields, genreId, afterId, limit + 1);
+        requireGenreIfEmpty(movies, genreId);
+        Long total = includeTotal
+                ? approximateCounts.get("movies:genre:" + genreId, () -> movieRepository.countByGenreId(genreId))
+                : null;
+        return CursorPage.of(movies, limit, MovieDto::getId, total);
     }
 
     @Transactional
     public MovieDto updateMovie(Long id, MovieDto movieDto) {
+        return updateMovie(id, movieDto, null);
+    }
+
+    @Transactional
+    public MovieDto updateMovie(Long id, MovieDto movieDto, Long expectedVersion) {
         validationService.validateRating(movieDto.getRating());
 
         Movie existingMovie = movieRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Movie", id));
+        validationService.validateVersion(existingMovie.getVersion(), expectedVersion);
 
         Genre genre = genreRepository.findById(movieDto.getGenreId())
                 .orElseThrow(() -> new ResourceNotFoundException("Genre", movieDto.getGenreId()));
 
+        MovieSnapshot previous = MovieSnapshot.of(existingMovie);
         movieMapper.updateEntityFromDto(movieDto, existingMovie, genre);
         Movie updatedMovie = movieRepository.save(existingMovie);
+        eventPublisher.publishEvent(MovieChangedEvent.updated(previous, MovieSnapshot.of(updatedMovie)));
         return movieMapper.toDto(updatedMovie);
     }
 
+    /**
+     * Applies a JSON Merge Patch and returns the new version. Only supplied fields are
+     * validated, a new genre is checked with an existence query (which, like PUT's
+     * lookup, skips soft-deleted genres) and attached as a reference instead of being
+     * loaded, and the UPDATE names only changed columns.
+     */
+    @Transactional
+    public long patchMovie(Long id, JsonNode document, Long expectedVersion) {
+        MergePatch patch = MergePatch.of(document, PATCHABLE_FIELDS);
+        String title = patch.has("title") ? patch.text("title") : null;
+        String director = patch.has("director") ? patch.text("director") : null;
+        Double rating = patch.has("rating") ? patch.decimal("rating") : null;
+        Long genreId = patch.has("genreId") ? patch.id("genreId") : null;
+        if (title != null) {
+            validationService.validateNotBlank(title, ValidationMessages.MOVIE_TITLE_BLANK);
+        }
+        if (director != null) {
+            validationService.validateNotBlank(director, ValidationMessages.MOVIE_DIRECTOR_BLANK);
+        }
+        if (rating != null) {
+            validationService.validateRating(rating);
+        }
+
+        Movie movie = movieRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Movie", id));
+        validationService.validateVersion(movie.getVersion(), expectedVersion);
+        MovieSnapshot previous = MovieSnapshot.of(movie);
+
+        if (title != null) {
+            movie.setTitle(title);
+        }
+        if (director != null) {
+            movie.setDirector(director);
+        }
+        if (rating != null) {
+            movie.setRating(rating);
+        }
+        boolean genreChanged = genreId != null && !genreId.equals(previous.getGenreId());
+        if (genreChanged) {
+            if (!genreRepository.existsById(genreId)) {
+                throw new ResourceNotFoundException("Genre", genreId);
+            }
+            movie.setGenre(genreRepository.getReferenceById(genreId));
+        }
+
+        try {
+            movieRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            if (genreChanged) {
+                throw new ResourceNotFoundException("Genre", genreId);
+            }
+            throw ex;
+        }
+
+        MovieSnapshot current = MovieSnapshot.of(movie);
+        if (!current.equals(previous)) {
+            eventPublisher.publishEvent(MovieChangedEvent.updated(previous, current));
+        }
+        return movie.getVersion();
+    }
+
     @Transactional
     public void deleteMovie(Long id) {
-        if (!movieRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Movie", id);
+        deleteMovie(id, null);
+    }
+
+    @Transactional
+    public void deleteMovie(Long id, Long expectedVersion) {
+        Movie movie = movieRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Movie", id));
+        validationService.validateVersion(movie.getVersion(), expectedVersion);
+        movieRepository.delete(movie);
+        eventPublisher.publishEvent(MovieChangedEvent.deleted(MovieSnapshot.of(movie)));
+    }
+
+    /**
+     * The not-found check stays outside the cache loader, which reports a missing genre
+     * as null so no failed load is logged.
+     */
+    private GenreMovies findGenreMovies(Long genreId) {
+        knownIds.requireGenre(genreId);
+        GenreMovies cached = genreMoviesCache.get(genreId, this::loadGenreMovies);
+        if (cached == null) {
+            throw new ResourceNotFoundException("Genre", genreId);
+        }
+        return cached;
+    }
+
+    private GenreMovies loadGenreMovies(Long genreId) {
+        int max = genreMoviesCache.getMaxMoviesPerGenre();
+        List<MovieDto> movies = movieRepository.findDtoPageByGenreId(genreId, 0L, Limit.of(max + 1));
+        if (movies.isEmpty() && !genreRepository.existsById(genreId)) {
+            return null;
+        }
+        return movies.size() > max ? GenreMovies.TOO_LARGE : GenreMovies.complete(movies);
+    }
+
+    /**
+     * Copies the selected fields of a shared DTO; a full selection returns it as is.
+     */
+    public static MovieDto project(MovieDto movie, FieldSelection fields) {
+        if (fields.isAll()) {
+            return movie;
+        }
+        return MovieDto.builder()
+                .id(movie.getId())
+                .title(fields.includes("title") ? movie.getTitle() : null)
+                .director(fields.includes("director") ? movie.getDirector() : null)
+                .rating(fields.includes("rating") ? movie.getRating() : null)
+                .genreId(fields.includes("genreId") ? movie.getGenreId() : null)
+                .genreName(fields.includes("genreName") ? movie.getGenreName() : null)
+                .build();
+    }
+
+    /**
+     * A non-empty projection already proves the genre exists, so the extra
+     * lookup is only paid when the result is empty.
+     */
+    private void requireGenreIfEmpty(List<MovieDto> movies, Long genreId) {
+        if (movies.isEmpty() && !genreRepository.existsById(genreId)) {
+            throw new ResourceNotFoundException("Genre", genreId);
         }
-        movieRepository.deleteById(id);
     }
 }
@@ -0,0 +1,84 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.exception.ResourceNotFoundException;
+import com.example.movie_api.pagination.CursorCodec;
+import com.example.movie_api.pagination.CursorPage;
+import com.example.movie_api.repository.ReactiveCatalogRepository;
+import com.example.movie_api.validation.ValidationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Asynchronous counterpart of the movie and genre reads. Results match the
+ * servlet path: same DTOs, same cursors, same not-found and validation errors.
+ *
+ * <p>Both the JDBC fallback and r2dbc-h2, which runs embedded H2 calls on the
+ * subscribing thread, block while querying. Every read is therefore subscribed on
+ * the bounded elastic scheduler so the servlet request thread is released.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveCatalogService {
+
+    private final ReactiveCatalogRepository catalogRepository;
+    private final GenreFollowerCounters followerCounters;
+    private final ValidationService validationService;
+
+    public Mono<MovieDto> findMovieById(Long id) {
+        return catalogRepository.findMovieById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Movie", id)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<CursorPage<MovieDto>> findMoviesByGenrePage(Long genreId, String after, int limit) {
+        return Mono.defer(() -> {
+            validationService.validatePageLimit(limit);
+            long afterId = CursorCodec.decode(after);
+
+            return catalogRepository.findMoviePageByGenreId(genreId, afterId, limit + 1)
+                    .collectList()
+                    .flatMap(movies -> movies.isEmpty()
+                            ? requireGenre(genreId).thenReturn(movies)
+                            : Mono.just(movies))
+                    .map(movies -> CursorPage.of(movies, limit, MovieDto::getId, null));
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<GenreDto> findGenreById(Long id) {
+        return catalogRepository.findGenreById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Genre", id)))
+                .map(this::withPendingFollowers)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<CursorPage<GenreDto>> findGenresPage(String after, int limit) {
+        return Mono.defer(() -> {
+            validationService.validatePageLimit(limit);
+            long afterId = CursorCodec.decode(after);
+
+            return catalogRepository.findGenrePage(afterId, limit + 1)
+                    .map(this::withPendingFollowers)
+                    .collectList()
+                    .map(genres -> CursorPage.of(genres, limit, GenreDto::getId, null));
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Void> requireGenre(Long genreId) {
+        return catalogRepository.existsGenreById(genreId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResourceNotFoundException("Genre", genreId)));
+    }
+
+    private GenreDto withPendingFollowers(GenreDto dto) {
+        long pending = followerCounters.pendingDelta(dto.getId());
+        if (pending != 0) {
+            dto.setFollowerCount((int) Math.max(0, dto.getFollowerCount() + pending));
+        }
+        return dto;
+    }
+}
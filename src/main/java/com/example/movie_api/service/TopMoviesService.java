@@ -0,0 +1,130 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
+import com.example.movie_api.exception.ResourceNotFoundException;
+import com.example.movie_api.model.Genre;
+import com.example.movie_api.ranking.GenreRanking;
+import com.example.movie_api.repository.GenreRepository;
+import com.example.movie_api.repository.MovieRepository;
+import com.example.movie_api.validation.ValidationService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Serves the highest rated movies of a genre from memory. The ranking keeps only the
+ * best {@code movie.top.per-genre} movies of each genre; it is loaded once at startup,
+ * then follows committed movie and genre changes and refills a genre from the
+ * database when one of its kept movies drops out. Larger requests go to the database.
+ */
+@Service
+@Timed(value = "service.calls", histogram = true)
+public class TopMoviesService {
+
+    private final MovieRepository movieRepository;
+    private final GenreRepository genreRepository;
+    private final ValidationService validationService;
+    private final GenreRanking ranking;
+    private final Map<Long, String> genreNames = new ConcurrentHashMap<>();
+
+    public TopMoviesService(
+            MovieRepository movieRepository,
+            GenreRepository genreRepository,
+            ValidationService validationService,
+            @Value("${movie.top.per-genre:100}") int perGenre) {
+        this.movieRepository = movieRepository;
+        this.genreRepository = genreRepository;
+        this.validationService = validationService;
+        this.ranking = new GenreRanking(perGenre);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildRanking() {
+        ranking.clear();
+        genreNames.clear();
+        genreRepository.findAll().forEach(genre -> genreNames.put(genre.getId(), genre.getName()));
+        try (Stream<MovieDto> movies = movieRepository.streamAllDtos()) {
+            movies.forEach(movie -> ranking.put(null, new MovieSnapshot(
+                    movie.getId(), movie.getTitle(), movie.getDirector(), movie.getRating(), movie.getGenreId())));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (event.isDeleted()) {
+            ranking.remove(event.getPrevious());
+        } else {
+            ranking.put(event.getPrevious(), event.getCurrent());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGenreChanged(GenreChangedEvent event) {
+        if (event.isDeleted()) {
+            genreNames.remove(event.getGenreId());
+            ranking.removeGenre(event.getGenreId());
+        } else {
+            genreNames.put(event.getGenreId(), event.getCurrent().getName());
+        }
+    }
+
+    public List<MovieDto> findTopMovies(Long genreId, int n) {
+        validationService.validateTopCount(n);
+        String genreName = genreName(genreId);
+
+        return top(genreId, n).stream()
+                .map(movie -> MovieDto.builder()
+                        .id(movie.getId())
+                        .title(movie.getTitle())
+                        .director(movie.getDirector())
+                        .rating(movie.getRating())
+                        .genreId(movie.getGenreId())
+                        .genreName(genreName)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<MovieSnapshot> top(Long genreId, int n) {
+        if (n > ranking.getCapacity()) {
+            return movieRepository.findTopSnapshotsByGenreId(genreId, Limit.of(n));
+        }
+        List<MovieSnapshot> top = ranking.top(genreId, n);
+        if (top != null) {
+            return top;
+        }
+
+        long generation = ranking.generation(genreId);
+        List<MovieSnapshot> best = movieRepository.findTopSnapshotsByGenreId(genreId, Limit.of(ranking.getCapacity()));
+        ranking.refill(genreId, best, generation);
+        return best.subList(0, Math.min(n, best.size()));
+    }
+
+    private String genreName(Long genreId) {
+        String name = genreNames.get(genreId);
+        if (name != null) {
+            return name;
+        }
+
+        // Not seen through an event yet; queried outside the map so no bin lock is held meanwhile.
+        name = genreRepository.findById(genreId)
+                .map(Genre::getName)
+                .orElseThrow(() -> new ResourceNotFoundException("Genre", genreId));
+        genreNames.putIfAbsent(genreId, name);
+        return name;
+    }
+}
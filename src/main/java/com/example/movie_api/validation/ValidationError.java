@@ -0,0 +1,16 @@
+package com.example.movie_api.validation;
+
+import lombok.Value;
+
+@Value
+public class ValidationError {
+
+    int index;
+    String field;
+    ValidationRule.Code code;
+    String message;
+
+    static ValidationError of(int index, ValidationRule rule) {
+        return new ValidationError(index, rule.getField(), rule.getCode(), rule.getMessage());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.movie_api.validation;
+
+/**
+ * The one wording of each validation failure, shared by the DTO constraint
+ * annotations, the single-row checks in {@link ValidationServiceImpl} and the batch
+ * {@link ValidationRule}s, so a bad row reads the same whichever path rejects it.
+ */
+public final class ValidationMessages {
+
+    public static final String ROW_NULL = "Row cannot be null";
+
+    public static final String MOVIE_TITLE_BLANK = "Movie title cannot be blank";
+    public static final String MOVIE_DIRECTOR_BLANK = "Director name cannot be blank";
+    public static final String MOVIE_GENRE_ID_NULL = "Genre ID cannot be null";
+    public static final String RATING_NULL = "Rating cannot be null";
+    public static final String RATING_RANGE = "Rating must be between 0.0 and 10.0";
+
+    public static final String GENRE_NAME_BLANK = "Genre name cannot be empty";
+    public static final String GENRE_NAME_TOO_LONG = "Genre name cannot exceed 100 characters";
+    public static final String FOLLOWER_COUNT_NULL = "Follower count cannot be null";
+    public static final String FOLLOWER_COUNT_NEGATIVE = "Follower count cannot be negative";
+
+    private ValidationMessages() {
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.movie_api.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Failures collected by one pass over a batch, kept as (row index, rule) pairs in
+ * row order. Nothing is allocated while rows pass; error objects and messages are
+ * only built when a caller asks for them.
+ */
+public final class ValidationReport {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] indexes = new int[0];
+    private ValidationRule[] rules = new ValidationRule[0];
+    private int size;
+    private int rowCount;
+
+    void add(int index, ValidationRule rule) {
+        if (size == indexes.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            indexes = Arrays.copyOf(indexes, capacity);
+            rules = Arrays.copyOf(rules, capacity);
+        }
+        indexes[size] = index;
+        rules[size] = rule;
+        size++;
+    }
+
+    void countRow() {
+        rowCount++;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getErrorCount() {
+        return size;
+    }
+
+    public boolean isValid() {
+        return size == 0;
+    }
+
+    public boolean isValid(int index) {
+        return firstError(index) < 0;
+    }
+
+    public List<ValidationError> getErrors() {
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<ValidationError> errors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            errors.add(ValidationError.of(indexes[i], rules[i]));
+        }
+        return errors;
+    }
+
+    /**
+     * Renders the failures of one row as {@code "field: message"} pairs joined by
+     * {@code "; "}, or returns null when the row passed.
+     */
+    public String messageFor(int index) {
+        int first = firstError(index);
+        if (first < 0) {
+            return null;
+        }
+
+        StringBuilder message = new StringBuilder();
+        for (int i = first; i < size && indexes[i] == index; i++) {
+            if (message.length() > 0) {
+                message.append("; ");
+            }
+            if (rules[i].getField() != null) {
+                message.append(rules[i].getField()).append(": ");
+            }
+            message.append(rules[i].getMessage());
+        }
+        return message.toString();
+    }
+
+    private int firstError(int index) {
+        int position = Arrays.binarySearch(indexes, 0, size, index);
+        if (position < 0) {
+            return -1;
+        }
+        while (position > 0 && indexes[position - 1] == index) {
+            position--;
+        }
+        return position;
+    }
+}
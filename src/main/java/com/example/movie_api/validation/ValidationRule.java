@@ -0,0 +1,56 @@
+package com.example.movie_api.validation;
+
+/**
+ * Checks applied by the batch validators. Messages are the shared
+ * {@link ValidationMessages} constants, so recording a failure costs nothing beyond
+ * remembering which rule it was.
+ */
+public enum ValidationRule {
+
+    ROW_NULL(null, Code.REQUIRED, ValidationMessages.ROW_NULL),
+
+    MOVIE_DIRECTOR_BLANK("director", Code.BLANK, ValidationMessages.MOVIE_DIRECTOR_BLANK),
+    MOVIE_GENRE_ID_NULL("genreId", Code.REQUIRED, ValidationMessages.MOVIE_GENRE_ID_NULL),
+    MOVIE_RATING_NULL("rating", Code.REQUIRED, ValidationMessages.RATING_NULL),
+    MOVIE_RATING_TOO_LOW("rating", Code.MIN, ValidationMessages.RATING_RANGE),
+    MOVIE_RATING_TOO_HIGH("rating", Code.MAX, ValidationMessages.RATING_RANGE),
+    MOVIE_TITLE_BLANK("title", Code.BLANK, ValidationMessages.MOVIE_TITLE_BLANK),
+
+    GENRE_FOLLOWER_COUNT_NULL("followerCount", Code.REQUIRED, ValidationMessages.FOLLOWER_COUNT_NULL),
+    GENRE_FOLLOWER_COUNT_NEGATIVE("followerCount", Code.MIN, ValidationMessages.FOLLOWER_COUNT_NEGATIVE),
+    GENRE_NAME_BLANK("name", Code.BLANK, ValidationMessages.GENRE_NAME_BLANK),
+    GENRE_NAME_TOO_LONG("name", Code.MAX_LENGTH, ValidationMessages.GENRE_NAME_TOO_LONG);
+
+    public enum Code {
+        REQUIRED,
+        BLANK,
+        MIN,
+        MAX,
+        MAX_LENGTH
+    }
+
+    private final String field;
+    private final Code code;
+    private final String message;
+
+    ValidationRule(String field, Code code, String message) {
+        this.field = field;
+        this.code = code;
+        this.message = message;
+    }
+
+    /**
+     * The offending property, or null when the rule applies to the row as a whole.
+     */
+    public String getField() {
+        return field;
+    }
+
+    public Code getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
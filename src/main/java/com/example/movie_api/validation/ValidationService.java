@@ -1,10 +1,40 @@
 package com.example.movie_api.validation;
 
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.MovieDto;
+
+import java.util.stream.Stream;
+
 public interface ValidationService {
 
     void validateRating(Double rating);
 
     void validateGenreName(String name);
 
+    /**
+     * Rejects a null or blank value with {@code message}, one of the {@link ValidationMessages}.
+     */
+    void validateNotBlank(String value, String message);
+
     void validateFollowerCount(Integer count);
+
+    void validatePageLimit(int limit);
+
+    void validateBulkSize(int size);
+
+    void validateTopCount(int n);
+
+    void validateVersion(Long currentVersion, Long expectedVersion);
+
+    /**
+     * Checks every row in one pass and reports all failures by row index instead of
+     * throwing at the first one.
+     */
+    ValidationReport validateMovies(Iterable<? extends MovieDto> movies);
+
+    ValidationReport validateMovies(Stream<? extends MovieDto> movies);
+
+    ValidationReport validateGenres(Iterable<? extends GenreDto> genres);
+
+    ValidationReport validateGenres(Stream<? extends GenreDto> genres);
 }
@@ -1,46 +1,179 @@
 package com.example.movie_api.validation;
 
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.exception.PreconditionFailedException;
+
 import org.springframework.stereotype.Service;
 
+import java.util.Iterator;
+import java.util.stream.Stream;
+
 @Service
 public class ValidationServiceImpl implements ValidationService {
 
     private static final double MIN_RATING = 0.0;
     private static final double MAX_RATING = 10.0;
     private static final int MIN_FOLLOWERS = 0;
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final int MAX_BULK_SIZE = 1000;
+    private static final int MAX_TOP_COUNT = 100;
+    private static final int MAX_GENRE_NAME_LENGTH = 100;
 
     @Override
     public void validateRating(Double rating) {
         if (rating == null) {
-            throw new IllegalArgumentException("Rating cannot be null");
+            throw new IllegalArgumentException(ValidationMessages.RATING_NULL);
         }
 
         if (rating < MIN_RATING || rating > MAX_RATING) {
-            throw new IllegalArgumentException(
-                    String.format("Rating must be between %.1f and %.1f", MIN_RATING, MAX_RATING)
-            );
+            throw new IllegalArgumentException(ValidationMessages.RATING_RANGE);
         }
     }
 
     @Override
     public void validateGenreName(String name) {
         if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Genre name cannot be empty");
+            throw new IllegalArgumentException(ValidationMessages.GENRE_NAME_BLANK);
+        }
+
+        if (name.length() > MAX_GENRE_NAME_LENGTH) {
+            throw new IllegalArgumentException(ValidationMessages.GENRE_NAME_TOO_LONG);
         }
+    }
 
-        if (name.length() > 100) {
-            throw new IllegalArgumentException("Genre name cannot exceed 100 characters");
+    @Override
+    public void validateNotBlank(String value, String message) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(message);
         }
     }
 
     @Override
     public void validateFollowerCount(Integer count) {
         if (count == null) {
-            throw new IllegalArgumentException("Follower count cannot be null");
+            throw new IllegalArgumentException(ValidationMessages.FOLLOWER_COUNT_NULL);
         }
 
         if (count < MIN_FOLLOWERS) {
-            throw new IllegalArgumentException("Follower count cannot be negative");
+            throw new IllegalArgumentException(ValidationMessages.FOLLOWER_COUNT_NEGATIVE);
+        }
+    }
+
+    @Override
+    public void validatePageLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+    }
+
+    @Override
+    public void validateBulkSize(int size) {
+        if (size < 1 || size > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Bulk requests must list between 1 and " + MAX_BULK_SIZE + " ids");
+        }
+    }
+
+    @Override
+    public void validateTopCount(int n) {
+        if (n < 1 || n > MAX_TOP_COUNT) {
+            throw new IllegalArgumentException("Top movie count must be between 1 and " + MAX_TOP_COUNT);
+        }
+    }
+
+    /**
+     * A null expectation means the client sent no If-Match, so any version is accepted.
+     */
+    @Override
+    public void validateVersion(Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(
+                    "Expected version " + expectedVersion + " but current version is " + currentVersion);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public ValidationReport validateMovies(Iterable<? extends MovieDto> movies) {
+        return validateMovies(movies.iterator());
+    }
+
+    @Override
+    public ValidationReport validateMovies(Stream<? extends MovieDto> movies) {
+        return validateMovies(movies.iterator());
+    }
+
+    @Override
+    public ValidationReport validateGenres(Iterable<? extends GenreDto> genres) {
+        return validateGenres(genres.iterator());
+    }
+
+    @Override
+    public ValidationReport validateGenres(Stream<? extends GenreDto> genres) {
+        return validateGenres(genres.iterator());
+    }
+
+    /**
+     * Fields are checked in alphabetical order so a row's messages read the same
+     * way the bean validator used to sort them.
+     */
+    private static ValidationReport validateMovies(Iterator<? extends MovieDto> movies) {
+        ValidationReport report = new ValidationReport();
+        for (int index = 0; movies.hasNext(); index++) {
+            MovieDto movie = movies.next();
+            report.countRow();
+            if (movie == null) {
+                report.add(index, ValidationRule.ROW_NULL);
+                continue;
+            }
+
+            if (isBlank(movie.getDirector())) {
+                report.add(index, ValidationRule.MOVIE_DIRECTOR_BLANK);
+            }
+            if (movie.getGenreId() == null) {
+                report.add(index, ValidationRule.MOVIE_GENRE_ID_NULL);
+            }
+            Double rating = movie.getRating();
+            if (rating == null) {
+                report.add(index, ValidationRule.MOVIE_RATING_NULL);
+            } else if (!(rating >= MIN_RATING)) {
+                report.add(index, ValidationRule.MOVIE_RATING_TOO_LOW);
+            } else if (rating > MAX_RATING) {
+                report.add(index, ValidationRule.MOVIE_RATING_TOO_HIGH);
+            }
+            if (isBlank(movie.getTitle())) {
+                report.add(index, ValidationRule.MOVIE_TITLE_BLANK);
+            }
+        }
+        return report;
+    }
+
+    private static ValidationReport validateGenres(Iterator<? extends GenreDto> genres) {
+        ValidationReport report = new ValidationReport();
+        for (int index = 0; genres.hasNext(); index++) {
+            GenreDto genre = genres.next();
+            report.countRow();
+            if (genre == null) {
+                report.add(index, ValidationRule.ROW_NULL);
+                continue;
+            }
+
+            Integer followerCount = genre.getFollowerCount();
+            if (followerCount == null) {
+                report.add(index, ValidationRule.GENRE_FOLLOWER_COUNT_NULL);
+            } else if (followerCount < MIN_FOLLOWERS) {
+                report.add(index, ValidationRule.GENRE_FOLLOWER_COUNT_NEGATIVE);
+            }
+            String name = genre.getName();
+            if (isBlank(name)) {
+                report.add(index, ValidationRule.GENRE_NAME_BLANK);
+            } else if (name.length() > MAX_GENRE_NAME_LENGTH) {
+                report.add(index, ValidationRule.GENRE_NAME_TOO_LONG);
+            }
+        }
+        return report;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,31 @@
+create table genre (
+    id bigint generated by default as identity,
+    name varchar(255) not null,
+    follower_count integer not null,
+    constraint pk_genre primary key (id),
+    constraint uk_genre_name unique (name)
+);
+
+create sequence movie_seq start with 1 increment by 50;
+
+create table movie (
+    id bigint not null,
+    title varchar(255) not null,
+    director varchar(255) not null,
+    rating float(53) not null,
+    genre_id bigint not null,
+    -- Lower-cased copies for case-insensitive equality and prefix lookups; not mapped by JPA.
+    title_key varchar(255) generated always as (lower(title)),
+    director_key varchar(255) generated always as (lower(director)),
+    constraint pk_movie primary key (id),
+    constraint fk_movie_genre foreign key (genre_id) references genre (id)
+);
+
+-- findByGenreId, genre-scoped keyset pages (genre_id = ? and id > ? order by id) and genre deletes.
+create index idx_movie_genre on movie (genre_id, id);
+
+-- Highest rated movies of a genre.
+create index idx_movie_genre_rating on movie (genre_id, rating desc, id);
+
+create index idx_movie_title_key on movie (title_key);
+create index idx_movie_director_key on movie (director_key);
@@ -0,0 +1,20 @@
+-- Per-genre aggregates maintained by the movie write paths; bucket_n counts ratings in [n, n + 1), bucket_9 includes 10.
+create table genre_stats (
+    genre_id bigint not null,
+    movie_count bigint default 0 not null,
+    rating_sum double precision default 0 not null,
+    bucket_0 bigint default 0 not null,
+    bucket_1 bigint default 0 not null,
+    bucket_2 bigint default 0 not null,
+    bucket_3 bigint default 0 not null,
+    bucket_4 bigint default 0 not null,
+    bucket_5 bigint default 0 not null,
+    bucket_6 bigint default 0 not null,
+    bucket_7 bigint default 0 not null,
+    bucket_8 bigint default 0 not null,
+    bucket_9 bigint default 0 not null,
+    constraint pk_genre_stats primary key (genre_id),
+    constraint fk_genre_stats_genre foreign key (genre_id) references genre (id) on delete cascade
+);
+
+insert into genre_stats (genre_id) select id from genre;
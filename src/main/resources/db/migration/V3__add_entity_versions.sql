@@ -0,0 +1,2 @@
+alter table genre add column version bigint default 0 not null;
+alter table movie add column version bigint default 0 not null;
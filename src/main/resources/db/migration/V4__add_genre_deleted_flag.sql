@@ -0,0 +1,2 @@
+-- Set when a genre is deleted; its movies are then purged in chunks before the row itself goes.
+alter table genre add column deleted boolean default false not null;
@@ -0,0 +1,3 @@
+-- Nothing looks titles up by equality or prefix; title search runs on the in-memory index.
+drop index idx_movie_title_key;
+alter table movie drop column title_key;
@@ -0,0 +1,5 @@
+-- A deleted genre keeps its row until the purge finishes; only live names have to be unique,
+-- so the name can be reused straight away. Deleted rows have a null key, which the index ignores.
+alter table genre add column name_key varchar(255) generated always as (case when deleted then null else name end);
+alter table genre drop constraint uk_genre_name;
+alter table genre add constraint uk_genre_name_key unique (name_key);
@@ -0,0 +1,84 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.GenreSnapshot;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenreMoviesCacheTest {
+
+    private GenreMoviesCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GenreMoviesCache(100, 1000, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_CalledTwice_ShouldLoadOnceAndRecordHit() {
+        load(1L);
+        load(1L);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @Test
+    void onMovieChanged_WithGenreMove_ShouldInvalidateBothGenresOnly() {
+        load(1L);
+        load(2L);
+        load(3L);
+        MovieSnapshot before = new MovieSnapshot(10L, "The Matrix", "Wachowski", 8.7, 1L);
+        MovieSnapshot after = new MovieSnapshot(10L, "The Matrix", "Wachowski", 8.7, 2L);
+
+        cache.onMovieChanged(MovieChangedEvent.updated(before, after));
+        load(1L);
+        load(2L);
+        load(3L);
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void onGenreChanged_ShouldInvalidateThatGenre() {
+        load(1L);
+
+        cache.onGenreChanged(GenreChangedEvent.updated(
+                new GenreSnapshot(1L, "Action"), new GenreSnapshot(1L, "Action/Adventure")));
+        load(1L);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void slice_ShouldStartAfterCursorId() {
+        GenreMovies movies = GenreMovies.complete(List.of(movie(1L), movie(4L), movie(9L)));
+
+        assertEquals(List.of(4L, 9L), movies.slice(1L, 5).stream().map(MovieDto::getId).toList());
+        assertEquals(List.of(9L), movies.slice(5L, 5).stream().map(MovieDto::getId).toList());
+        assertTrue(movies.slice(9L, 5).isEmpty());
+    }
+
+    private void load(Long genreId) {
+        cache.get(genreId, id -> {
+            loads.incrementAndGet();
+            return GenreMovies.complete(List.of(movie(id)));
+        });
+    }
+
+    private static MovieDto movie(Long id) {
+        return MovieDto.builder().id(id).title("Movie " + id).build();
+    }
+}
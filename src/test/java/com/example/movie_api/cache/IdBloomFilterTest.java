@@ -0,0 +1,42 @@
+package com.example.movie_api.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdBloomFilterTest {
+
+    @Test
+    void mightContain_WithPutIds_ShouldAlwaysReturnTrue() {
+        IdBloomFilter filter = new IdBloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(id));
+        }
+    }
+
+    @Test
+    void mightContain_WithAbsentIds_ShouldStayNearConfiguredRate() {
+        IdBloomFilter filter = new IdBloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = 10_001; id <= 110_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void constructor_WithInvalidArguments_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new IdBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new IdBloomFilter(100, 1.0));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.GenreSnapshot;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieDtoCacheTest {
+
+    private MovieDtoCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MovieDtoCache(100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_CalledTwice_ShouldLoadOnceAndRecordHit() {
+        load(10L, 1L);
+        load(10L, 1L);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @Test
+    void get_WhenLoaderThrows_ShouldNotCacheFailure() {
+        assertThrows(IllegalStateException.class, () -> cache.get(99L, id -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        }));
+        load(99L, 1L);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WhenLoaderFindsNothing_ShouldReturnNullWithoutCaching() {
+        assertNull(cache.get(99L, id -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        load(99L, 1L);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getStats().getHits());
+    }
+
+    @Test
+    void onMovieChanged_ShouldInvalidateThatMovieOnly() {
+        load(10L, 1L);
+        load(11L, 1L);
+        MovieSnapshot before = new MovieSnapshot(10L, "The Matrix", "Wachowski", 8.7, 1L);
+        MovieSnapshot after = new MovieSnapshot(10L, "The Matrix", "Wachowski", 9.0, 1L);
+
+        cache.onMovieChanged(MovieChangedEvent.updated(before, after));
+        load(10L, 1L);
+        load(11L, 1L);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void onGenreChanged_WithRename_ShouldInvalidateMoviesOfThatGenre() {
+        load(10L, 1L);
+        load(11L, 2L);
+
+        cache.onGenreChanged(GenreChangedEvent.updated(
+                new GenreSnapshot(1L, "Action"), new GenreSnapshot(1L, "Action/Adventure")));
+        load(10L, 1L);
+        load(11L, 2L);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void onGenreChanged_WithRenameDuringLoad_ShouldNotCacheThatLoad() {
+        GenreChangedEvent rename = GenreChangedEvent.updated(
+                new GenreSnapshot(1L, "Action"), new GenreSnapshot(1L, "Action/Adventure"));
+        cache.get(10L, key -> {
+            loads.incrementAndGet();
+            cache.onGenreChanged(rename);
+            return new VersionedMovie(MovieDto.builder().id(key).genreId(1L).genreName("Action").build(), 0L, 0L);
+        });
+
+        load(10L, 1L);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onGenreChanged_WithoutRename_ShouldKeepMovies() {
+        load(10L, 1L);
+
+        cache.onGenreChanged(GenreChangedEvent.updated(
+                new GenreSnapshot(1L, "Action"), new GenreSnapshot(1L, "Action")));
+        load(10L, 1L);
+
+        assertEquals(1, loads.get());
+    }
+
+    private VersionedMovie load(Long id, Long genreId) {
+        return cache.get(id, key -> {
+            loads.incrementAndGet();
+            return new VersionedMovie(MovieDto.builder().id(key).title("Movie " + key).genreId(genreId).build(), 0L, 0L);
+        });
+    }
+}
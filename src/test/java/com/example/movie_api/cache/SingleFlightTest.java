@@ -0,0 +1,131 @@
+package com.example.movie_api.cache;
+
+import com.example.movie_api.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private SingleFlight<Long, String> flight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        flight = new SingleFlight<>("test");
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_WithConcurrentCallers_ShouldShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> flight.execute(1L, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "Heat";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Future<String> follower = executor.submit(() -> flight.execute(1L, () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        waitForCoalesced(1);
+        release.countDown();
+
+        assertEquals("Heat", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("Heat", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.getLoads());
+        assertEquals(1, flight.getCoalesced());
+        assertEquals(0, flight.getInFlight());
+    }
+
+    @Test
+    void execute_WhenLoadFails_ShouldRethrowToEveryWaiter() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> flight.execute(1L, () -> {
+            loading.countDown();
+            await(release);
+            throw new ResourceNotFoundException("Movie", 1L);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Future<String> follower = executor.submit(() -> flight.execute(1L, () -> "unused"));
+        waitForCoalesced(1);
+        release.countDown();
+
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ResourceNotFoundException.class, leaderError.getCause());
+        assertInstanceOf(ResourceNotFoundException.class, followerError.getCause());
+    }
+
+    @Test
+    void execute_AfterLoadFinished_ShouldLoadAgain() {
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.execute(1L, () -> "v" + loads.incrementAndGet());
+        String second = flight.execute(1L, () -> "v" + loads.incrementAndGet());
+
+        assertEquals("v2", second);
+        assertEquals(0, flight.getCoalesced());
+    }
+
+    @Test
+    void forget_WhileLoading_ShouldStartFreshLoadForNextCaller() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> stale = executor.submit(() -> flight.execute(1L, () -> {
+            loading.countDown();
+            await(release);
+            return "old";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        flight.forget(1L);
+        String fresh = flight.execute(1L, () -> "new");
+        release.countDown();
+
+        assertEquals("new", fresh);
+        assertEquals("old", stale.get(5, TimeUnit.SECONDS));
+        assertEquals(2, flight.getLoads());
+    }
+
+    private void waitForCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getCoalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, flight.getCoalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
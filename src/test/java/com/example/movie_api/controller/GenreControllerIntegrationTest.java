@@ -1,23 +1,32 @@
 package com.example.movie_api.controller;
 
 import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
 import com.example.movie_api.model.Genre;
+import com.example.movie_api.model.Movie;
 import com.example.movie_api.repository.GenreRepository;
+import com.example.movie_api.repository.MovieRepository;
+import com.example.movie_api.service.GenreFollowerCounters;
+import com.example.movie_api.service.TopMoviesService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {"genre.followers.flush-interval=1h", "movie.top.per-genre=2"})
 @AutoConfigureMockMvc
 @Transactional
 class GenreControllerIntegrationTest {
@@ -31,6 +40,15 @@ class GenreControllerIntegrationTest {
     @Autowired
     private GenreRepository genreRepository;
 
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TopMoviesService topMoviesService;
+
+    @Autowired
+    private GenreFollowerCounters followerCounters;
+
     @BeforeEach
     void setUp() {
         genreRepository.deleteAll();
@@ -114,6 +132,191 @@ class GenreControllerIntegrationTest {
                 .andExpect(jsonPath("$.followerCount").value(1500));
     }
 
+    @Test
+    void followGenre_ShouldBeVisibleBeforeFlush() throws Exception {
+        Genre savedGenre = genreRepository.save(Genre.builder().name("Action").followerCount(1000).build());
+
+        mockMvc.perform(post("/api/genres/" + savedGenre.getId() + "/followers"))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(post("/api/genres/" + savedGenre.getId() + "/followers"))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(delete("/api/genres/" + savedGenre.getId() + "/followers"))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(get("/api/genres/" + savedGenre.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.followerCount").value(1001));
+    }
+
+    @Test
+    void followGenre_WithNonExistingId_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(post("/api/genres/999/followers"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getTopMovies_ShouldReturnHighestRatedFirst() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Sci-Fi").followerCount(10).build());
+        movieRepository.save(Movie.builder().title("Solaris").director("Andrei Tarkovsky").rating(8.1).genre(genre).build());
+        movieRepository.save(Movie.builder().title("Alien").director("Ridley Scott").rating(8.5).genre(genre).build());
+        movieRepository.save(Movie.builder().title("Dune").director("David Lynch").rating(6.3).genre(genre).build());
+        topMoviesService.rebuildRanking();
+
+        mockMvc.perform(get("/api/genres/" + genre.getId() + "/top").param("n", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Alien"))
+                .andExpect(jsonPath("$[1].title").value("Solaris"))
+                .andExpect(jsonPath("$[0].genreName").value("Sci-Fi"));
+    }
+
+    @Test
+    void getTopMovies_AfterKeptMovieIsDeleted_ShouldRefillFromDatabase() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Sci-Fi").followerCount(10).build());
+        movieRepository.save(Movie.builder().title("Solaris").director("Andrei Tarkovsky").rating(8.1).genre(genre).build());
+        Movie alien = movieRepository.save(
+                Movie.builder().title("Alien").director("Ridley Scott").rating(8.5).genre(genre).build());
+        movieRepository.save(Movie.builder().title("Dune").director("David Lynch").rating(6.3).genre(genre).build());
+        topMoviesService.rebuildRanking();
+
+        movieRepository.delete(alien);
+        topMoviesService.onMovieChanged(MovieChangedEvent.deleted(MovieSnapshot.of(alien)));
+
+        mockMvc.perform(get("/api/genres/" + genre.getId() + "/top").param("n", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Solaris"))
+                .andExpect(jsonPath("$[1].title").value("Dune"));
+    }
+
+    @Test
+    void getTopMovies_WithNonExistingId_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/genres/999/top"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getTopMovies_WithInvalidN_ShouldReturnBadRequest() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Sci-Fi").followerCount(10).build());
+
+        mockMvc.perform(get("/api/genres/" + genre.getId() + "/top").param("n", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getGenreStats_AfterRebuild_ShouldAggregateMovies() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Sci-Fi").followerCount(10).build());
+        movieRepository.save(Movie.builder().title("Solaris").director("Andrei Tarkovsky").rating(8.0).genre(genre).build());
+        movieRepository.save(Movie.builder().title("Dune").director("David Lynch").rating(6.0).genre(genre).build());
+        movieRepository.flush();
+
+        mockMvc.perform(post("/api/admin/genre-stats/rebuild"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/genres/" + genre.getId() + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movieCount").value(2))
+                .andExpect(jsonPath("$.averageRating").value(7.0))
+                .andExpect(jsonPath("$.ratingHistogram", hasSize(10)))
+                .andExpect(jsonPath("$.ratingHistogram[6]").value(1))
+                .andExpect(jsonPath("$.ratingHistogram[8]").value(1));
+    }
+
+    @Test
+    void getAllGenreStats_ShouldListGenresWithoutMovies() throws Exception {
+        genreRepository.save(Genre.builder().name("Sci-Fi").followerCount(10).build());
+        genreRepository.flush();
+
+        mockMvc.perform(get("/api/genres/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].movieCount").value(0))
+                .andExpect(jsonPath("$[0].averageRating").doesNotExist());
+    }
+
+    @Test
+    void getGenreStats_WithNonExistingId_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/genres/999/stats"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAllGenres_WithMatchingIfNoneMatch_ShouldReturnNotModifiedUntilChanged() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Action").followerCount(1000).build());
+
+        String etag = mockMvc.perform(get("/api/genres"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/genres").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/genres/" + genre.getId() + "/followers"))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(get("/api/genres").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].followerCount").value(1001));
+    }
+
+    @Test
+    void getGenreById_AfterFollow_ShouldReturnNewETag() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Action").followerCount(1000).build());
+
+        String etag = mockMvc.perform(get("/api/genres/" + genre.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0.1000:*\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/genres/" + genre.getId() + "/followers"))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(get("/api/genres/" + genre.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0.1001:*\""));
+    }
+
+    @Test
+    void updateGenre_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Action").followerCount(1000).build());
+        GenreDto updateDto = GenreDto.builder().name("Action/Adventure").followerCount(1500).build();
+
+        mockMvc.perform(put("/api/genres/" + genre.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"2.0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateGenre_WithIfMatchTakenBeforeFollowerFlush_ShouldSucceed() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Action").followerCount(1000).build());
+        String etag = mockMvc.perform(get("/api/genres/" + genre.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(post("/api/genres/" + genre.getId() + "/followers"))
+                .andExpect(status().isAccepted());
+        followerCounters.flush();
+
+        mockMvc.perform(put("/api/genres/" + genre.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                GenreDto.builder().name("Action/Adventure").followerCount(1001).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Action/Adventure"));
+    }
+
+    @Test
+    void getAllGenres_WithFields_ShouldReturnOnlyRequestedFields() throws Exception {
+        genreRepository.save(Genre.builder().name("Action").followerCount(1000).build());
+
+        mockMvc.perform(get("/api/genres").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].name").value("Action"))
+                .andExpect(jsonPath("$[0].followerCount").doesNotExist());
+    }
+
     @Test
     void deleteGenre_WithExistingId_ShouldReturnNoContent() throws Exception {
         Genre genre = Genre.builder().name("Action").followerCount(1000).build();
@@ -125,5 +328,92 @@ class GenreControllerIntegrationTest {
         mockMvc.perform(get("/api/genres/" + savedGenre.getId()))
                 .andExpect(status().isNotFound());
     }
-}
 
+    @Test
+    void createGenre_WithNameOfJustDeletedGenre_ShouldReturnCreated() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Drama").followerCount(10).build());
+        mockMvc.perform(delete("/api/genres/" + genre.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/api/genres")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                GenreDto.builder().name("Drama").followerCount(5).build())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("Drama"));
+    }
+
+    @Test
+    void deleteGenre_AfterSoftDelete_ShouldHideGenreAndItsMoviesFromReads() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Drama").followerCount(10).build());
+        Movie movie = movieRepository.save(Movie.builder()
+                .title("Heat").director("Michael Mann").rating(8.3).genre(genre).build());
+
+        genreRepository.markDeleted(genre.getId());
+
+        mockMvc.perform(get("/api/genres"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/movies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/movies/genre/" + genre.getId()))
+                .andExpect(status().isNotFound());
+        assertTrue(movieRepository.existsById(movie.getId()));
+    }
+
+    @Test
+    void deleteGenre_AfterSoftDelete_ShouldHideItsMoviesFromSparseReadsAndCounts() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Drama").followerCount(10).build());
+        Movie movie = movieRepository.save(Movie.builder()
+                .title("Heat").director("Michael Mann").rating(8.3).genre(genre).build());
+        long liveMovies = movieRepository.countWithLiveGenre();
+
+        genreRepository.markDeleted(genre.getId());
+
+        mockMvc.perform(get("/api/movies").param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/movies/" + movie.getId()).param("fields", "title"))
+                .andExpect(status().isNotFound());
+        assertEquals(liveMovies - 1, movieRepository.countWithLiveGenre());
+        assertTrue(movieRepository.findVersionById(movie.getId()).isEmpty());
+    }
+
+    @Test
+    void patchGenre_WithName_ShouldRenameGenre() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Drama").followerCount(10).build());
+
+        mockMvc.perform(patch("/api/genres/" + genre.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\": \"Melodrama\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.10\""));
+
+        mockMvc.perform(get("/api/genres/" + genre.getId()))
+                .andExpect(jsonPath("$.name").value("Melodrama"))
+                .andExpect(jsonPath("$.followerCount").value(10));
+    }
+
+    @Test
+    void patchGenre_WithDuplicateName_ShouldReturnBadRequest() throws Exception {
+        genreRepository.save(Genre.builder().name("Drama").followerCount(10).build());
+        Genre genre = genreRepository.save(Genre.builder().name("Comedy").followerCount(5).build());
+
+        mockMvc.perform(patch("/api/genres/" + genre.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\": \"Drama\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Genre with name 'Drama' already exists"));
+    }
+
+    @Test
+    void patchGenre_WithNegativeFollowerCount_ShouldReturnBadRequest() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Drama").followerCount(10).build());
+
+        mockMvc.perform(patch("/api/genres/" + genre.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"followerCount\": -1}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.movie_api.controller;
+
+import com.example.movie_api.model.Genre;
+import com.example.movie_api.model.Movie;
+import com.example.movie_api.repository.GenreRepository;
+import com.example.movie_api.repository.MovieRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The purge starts after the soft delete commits and runs in its own transactions,
+ * so this test uses a private database instead of rolling back.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:genre-purge-test;DB_CLOSE_DELAY=-1",
+        "genre.followers.flush-interval=1h"
+})
+@AutoConfigureMockMvc
+class GenrePurgeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        movieRepository.deleteAll();
+        jdbcTemplate.update("delete from genre");
+    }
+
+    @Test
+    void deleteGenre_WithMovies_ShouldPurgeMoviesInBackground() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Drama").followerCount(10).build());
+        Movie movie = movieRepository.save(Movie.builder()
+                .title("Heat").director("Michael Mann").rating(8.3).genre(genre).build());
+
+        mockMvc.perform(delete("/api/genres/" + genre.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/genres/" + genre.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/movies/" + movie.getId()))
+                .andExpect(status().isNotFound());
+        JsonNode purge = awaitPurge(genre.getId());
+        assertThat(purge.get("state").asText()).isEqualTo("COMPLETED");
+        assertThat(purge.get("moviesDeleted").asInt()).isEqualTo(1);
+        assertThat(movieRepository.findById(movie.getId())).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from genre where id = ?", Long.class, genre.getId())).isZero();
+    }
+
+    private JsonNode awaitPurge(Long genreId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            MockHttpServletResponse response = mockMvc.perform(get("/api/genres/" + genreId + "/purge"))
+                    .andReturn().getResponse();
+            if (response.getStatus() == 200) {
+                JsonNode purge = objectMapper.readTree(response.getContentAsString());
+                if (!"RUNNING".equals(purge.get("state").asText()) || System.currentTimeMillis() > deadline) {
+                    return purge;
+                }
+            } else if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Purge of genre " + genreId + " never started");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.movie_api.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheus_ShouldExposeRequestServiceErrorAndPersistenceMetrics() throws Exception {
+        mockMvc.perform(get("/api/movies/999"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/genres"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("service_calls_seconds_count{class=\"com.example.movie_api.service.MovieService\"")))
+                .andExpect(content().string(containsString("api_errors_total{handler=\"resourceNotFound\",status=\"404\"}")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"genre-movies\"")))
+                .andExpect(content().string(containsString("coalescing_requests_total{flight=\"genres\",result=\"load\"")))
+                .andExpect(content().string(containsString("id_filter_rejections_total{filter=\"movies\"}")));
+    }
+}
@@ -1,21 +1,40 @@
 package com.example.movie_api.controller;
 
+import com.example.movie_api.dto.BulkDeleteRequest;
+import com.example.movie_api.dto.BulkUpdateRequest;
 import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.GenreSnapshot;
 import com.example.movie_api.model.Genre;
 import com.example.movie_api.model.Movie;
 import com.example.movie_api.repository.GenreRepository;
 import com.example.movie_api.repository.MovieRepository;
+import com.example.movie_api.service.MovieSearchService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -36,6 +55,12 @@ class MovieControllerIntegrationTest {
     @Autowired
     private GenreRepository genreRepository;
 
+    @Autowired
+    private MovieSearchService movieSearchService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Genre testGenre;
 
     @BeforeEach
@@ -100,6 +125,44 @@ class MovieControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void createMovies_WithBatch_ShouldReturnPerRowResults() throws Exception {
+        List<MovieDto> batch = List.of(
+                MovieDto.builder().title("The Matrix").director("Wachowski")
+                        .rating(8.7).genreId(testGenre.getId()).build(),
+                MovieDto.builder().title("Bad Rating").director("Someone")
+                        .rating(15.0).genreId(testGenre.getId()).build(),
+                MovieDto.builder().title("No Genre").director("Someone")
+                        .rating(5.0).genreId(999L).build(),
+                MovieDto.builder().title("Die Hard").director("McTiernan")
+                        .rating(8.2).genreId(testGenre.getId()).build());
+
+        mockMvc.perform(post("/api/movies/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.rows", hasSize(4)))
+                .andExpect(jsonPath("$.rows[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.rows[0].id").exists())
+                .andExpect(jsonPath("$.rows[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.rows[2].error").value("Genre not found with id: 999"))
+                .andExpect(jsonPath("$.rows[3].index").value(3));
+
+        mockMvc.perform(get("/api/movies/genre/" + testGenre.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void createMovies_WithNonArrayBody_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/movies/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllMovies_ShouldReturnListOfMovies() throws Exception {
         Movie movie1 = Movie.builder()
@@ -126,6 +189,164 @@ class MovieControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].title").value("Die Hard"));
     }
 
+    @Test
+    void getAllMovies_WithLimit_ShouldReturnPageAndNextCursor() throws Exception {
+        Movie movie1 = Movie.builder().title("The Matrix").director("Wachowski")
+                .rating(8.7).genre(testGenre).build();
+        Movie movie2 = Movie.builder().title("Die Hard").director("McTiernan")
+                .rating(8.2).genre(testGenre).build();
+        movieRepository.save(movie1);
+        movieRepository.save(movie2);
+
+        String cursor = mockMvc.perform(get("/api/movies").param("limit", "1").param("count", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("The Matrix"))
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/movies").param("limit", "1").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Die Hard"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void getAllMovies_WithFields_ShouldReturnOnlyRequestedFields() throws Exception {
+        movieRepository.save(Movie.builder().title("The Matrix").director("Wachowski")
+                .rating(8.7).genre(testGenre).build());
+
+        mockMvc.perform(get("/api/movies").param("fields", "title,rating"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].title").value("The Matrix"))
+                .andExpect(jsonPath("$[0].rating").value(8.7))
+                .andExpect(jsonPath("$[0].director").doesNotExist())
+                .andExpect(jsonPath("$[0].genreName").doesNotExist());
+    }
+
+    @Test
+    void getAllMovies_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/movies").param("fields", "budget"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getMovieById_WithFields_ShouldJoinGenreOnlyWhenNeeded() throws Exception {
+        Movie savedMovie = movieRepository.save(Movie.builder().title("The Matrix").director("Wachowski")
+                .rating(8.7).genre(testGenre).build());
+
+        mockMvc.perform(get("/api/movies/" + savedMovie.getId()).param("fields", "genreId"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.genreId").value(testGenre.getId()))
+                .andExpect(jsonPath("$.genreName").doesNotExist())
+                .andExpect(jsonPath("$.title").doesNotExist());
+
+        mockMvc.perform(get("/api/movies/" + savedMovie.getId()).param("fields", "genreName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.genreName").value("Action"));
+    }
+
+    @Test
+    void getMoviesByGenre_WithFields_ShouldTrimCachedMovies() throws Exception {
+        movieRepository.save(Movie.builder().title("The Matrix").director("Wachowski")
+                .rating(8.7).genre(testGenre).build());
+
+        mockMvc.perform(get("/api/movies/genre/" + testGenre.getId()).param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("The Matrix"))
+                .andExpect(jsonPath("$[0].rating").doesNotExist());
+    }
+
+    @Test
+    void getAllMovies_WithCborAccept_ShouldReturnCbor() throws Exception {
+        movieRepository.save(Movie.builder().title("The Matrix").director("Wachowski")
+                .rating(8.7).genre(testGenre).build());
+
+        byte[] body = mockMvc.perform(get("/api/movies").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<MovieDto> movies = new CBORMapper().readValue(body, new TypeReference<List<MovieDto>>() { });
+        assertEquals(1, movies.size());
+        assertEquals("The Matrix", movies.get(0).getTitle());
+        assertEquals(8.7, movies.get(0).getRating());
+    }
+
+    @Test
+    void getMoviesByGenre_WithSmileAccept_ShouldReturnSmile() throws Exception {
+        movieRepository.save(Movie.builder().title("The Matrix").director("Wachowski")
+                .rating(8.7).genre(testGenre).build());
+
+        byte[] body = mockMvc.perform(get("/api/movies/genre/" + testGenre.getId()).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<MovieDto> movies = new SmileMapper().readValue(body, new TypeReference<List<MovieDto>>() { });
+        assertEquals("Action", movies.get(0).getGenreName());
+    }
+
+    @Test
+    void getAllMovies_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/movies").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchMovies_ShouldReturnRankedMatches() throws Exception {
+        movieRepository.save(Movie.builder().title("The Matrix").director("Wachowski")
+                .rating(8.7).genre(testGenre).build());
+        movieRepository.save(Movie.builder().title("Die Hard").director("McTiernan")
+                .rating(8.2).genre(testGenre).build());
+        movieSearchService.rebuildIndex();
+
+        mockMvc.perform(get("/api/movies/search").param("q", "matr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("The Matrix"))
+                .andExpect(jsonPath("$[0].genreName").value("Action"))
+                .andExpect(header().string("X-Total-Count", "1"));
+    }
+
+    @Test
+    void searchMovies_AfterGenreIsSoftDeleted_ShouldLeaveItsMoviesOutOfTotal() throws Exception {
+        Genre deleted = genreRepository.save(Genre.builder().name("Noir").followerCount(0).build());
+        movieRepository.save(Movie.builder().title("The Matrix").director("Wachowski")
+                .rating(8.7).genre(testGenre).build());
+        movieRepository.save(Movie.builder().title("Matrix Noir").director("Someone")
+                .rating(5.0).genre(deleted).build());
+        movieSearchService.rebuildIndex();
+
+        genreRepository.markDeleted(deleted.getId());
+        movieSearchService.onGenreChanged(GenreChangedEvent.deleted(GenreSnapshot.of(deleted)));
+
+        mockMvc.perform(get("/api/movies/search").param("q", "matrix"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("X-Total-Count", "1"));
+    }
+
+    @Test
+    void searchMovies_WithBlankQuery_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/movies/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportMovies_ShouldStreamNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/movies/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+    }
+
     @Test
     void getMovieById_WithExistingId_ShouldReturnMovie() throws Exception {
         Movie movie = Movie.builder()
@@ -143,6 +364,71 @@ class MovieControllerIntegrationTest {
                 .andExpect(jsonPath("$.rating").value(8.7));
     }
 
+    @Test
+    void getMovieById_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        Movie savedMovie = movieRepository.save(Movie.builder()
+                .title("The Matrix").director("Wachowski").rating(8.7).genre(testGenre).build());
+
+        String etag = mockMvc.perform(get("/api/movies/" + savedMovie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0.0:*\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/movies/" + savedMovie.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getMovieById_AfterGenreRename_ShouldNotMatchPreviousETag() throws Exception {
+        Movie savedMovie = saveMovie("The Matrix", "Wachowski", 8.7);
+        String etag = mockMvc.perform(get("/api/movies/" + savedMovie.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/genres/" + testGenre.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Sci-Fi\",\"followerCount\":1000}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/movies/" + savedMovie.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.genreName").value("Sci-Fi"));
+    }
+
+    @Test
+    void getMovieById_WithFieldSelection_ShouldUseItsOwnETag() throws Exception {
+        Movie savedMovie = saveMovie("The Matrix", "Wachowski", 8.7);
+        String etag = mockMvc.perform(get("/api/movies/" + savedMovie.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/movies/" + savedMovie.getId() + "?fields=title")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0.0:id,title\""));
+    }
+
+    @Test
+    void getMovieById_WhenCached_ShouldAnswerWithoutQuery() throws Exception {
+        Movie savedMovie = movieRepository.saveAndFlush(Movie.builder()
+                .title("The Matrix").director("Wachowski").rating(8.7).genre(testGenre).build());
+        String etag = mockMvc.perform(get("/api/movies/" + savedMovie.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+
+        mockMvc.perform(get("/api/movies/" + savedMovie.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/movies/" + savedMovie.getId() + "?fields=title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("The Matrix"))
+                .andExpect(jsonPath("$.director").doesNotExist());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
     @Test
     void getMovieById_WithNonExistingId_ShouldReturnNotFound() throws Exception {
         mockMvc.perform(get("/api/movies/999"))
@@ -165,6 +451,82 @@ class MovieControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].title").value("The Matrix"));
     }
 
+    @Test
+    void getMoviesByGenre_AfterCreate_ShouldNotServeStaleCachedList() throws Exception {
+        mockMvc.perform(get("/api/movies/genre/" + testGenre.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        MovieDto movieDto = MovieDto.builder().title("The Matrix").director("Wachowski")
+                .rating(8.7).genreId(testGenre.getId()).build();
+        mockMvc.perform(post("/api/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movieDto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/movies/genre/" + testGenre.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("/api/admin/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['genre-movies'].misses").exists());
+    }
+
+    @Test
+    void getMoviesByGenre_AfterCreate_ShouldNotMatchPreviousETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/movies/genre/" + testGenre.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/movies/genre/" + testGenre.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        MovieDto movieDto = MovieDto.builder().title("The Matrix").director("Wachowski")
+                .rating(8.7).genreId(testGenre.getId()).build();
+        mockMvc.perform(post("/api/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movieDto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/movies/genre/" + testGenre.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void updateMovie_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        Movie savedMovie = movieRepository.save(Movie.builder()
+                .title("The Matrix").director("Wachowski").rating(8.7).genre(testGenre).build());
+        MovieDto updateDto = MovieDto.builder().title("The Matrix Reloaded").director("Wachowski")
+                .rating(7.2).genreId(testGenre.getId()).build();
+
+        mockMvc.perform(put("/api/movies/" + savedMovie.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/api/movies/" + savedMovie.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("The Matrix Reloaded"));
+    }
+
+    @Test
+    void deleteMovie_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        Movie savedMovie = movieRepository.save(Movie.builder()
+                .title("The Matrix").director("Wachowski").rating(8.7).genre(testGenre).build());
+
+        mockMvc.perform(delete("/api/movies/" + savedMovie.getId()).header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/movies/" + savedMovie.getId()))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void updateMovie_WithValidData_ShouldReturnUpdatedMovie() throws Exception {
         Movie movie = Movie.builder()
@@ -207,4 +569,209 @@ class MovieControllerIntegrationTest {
         mockMvc.perform(get("/api/movies/" + savedMovie.getId()))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void bulkDelete_WithIds_ShouldReportAffectedAndNotFound() throws Exception {
+        Movie first = saveMovie("Heat", "Michael Mann", 8.3);
+        Movie second = saveMovie("Ronin", "John Frankenheimer", 7.2);
+        BulkDeleteRequest request = BulkDeleteRequest.builder()
+                .ids(List.of(first.getId(), second.getId(), 999999L))
+                .build();
+
+        mockMvc.perform(post("/api/movies/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedIds", hasSize(2)))
+                .andExpect(jsonPath("$.notFoundIds[0]").value(999999));
+
+        mockMvc.perform(get("/api/movies/" + first.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void bulkDelete_WithFilter_ShouldDeleteOnlyMatchingMovies() throws Exception {
+        Movie weak = saveMovie("Manhunter", "Michael Mann", 4.0);
+        Movie strong = saveMovie("Heat", "Michael Mann", 8.3);
+        saveMovie("Ronin", "John Frankenheimer", 3.0);
+        BulkDeleteRequest request = BulkDeleteRequest.builder()
+                .director("michael mann")
+                .maxRating(5.0)
+                .build();
+
+        mockMvc.perform(post("/api/movies/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedIds", hasSize(1)))
+                .andExpect(jsonPath("$.affectedIds[0]").value(weak.getId()));
+
+        mockMvc.perform(get("/api/movies/" + strong.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void bulkDelete_WithFilterMatchingTooManyMovies_ShouldReturnBadRequestAndDeleteNothing() throws Exception {
+        List<Movie> movies = IntStream.rangeClosed(0, 1000)
+                .mapToObj(i -> Movie.builder()
+                        .title("Sequel " + i)
+                        .director("Prolific Director")
+                        .rating(5.0)
+                        .genre(testGenre)
+                        .build())
+                .collect(Collectors.toList());
+        movieRepository.saveAll(movies);
+        BulkDeleteRequest request = BulkDeleteRequest.builder()
+                .director("prolific director")
+                .build();
+
+        mockMvc.perform(post("/api/movies/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/movies/" + movies.get(0).getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void bulkDelete_WithMovieOfSoftDeletedGenre_ShouldReportItNotFound() throws Exception {
+        Genre deleted = genreRepository.save(Genre.builder().name("Noir").followerCount(0).build());
+        Movie movie = movieRepository.save(Movie.builder()
+                .title("The Killers").director("Robert Siodmak").rating(7.7).genre(deleted).build());
+        genreRepository.markDeleted(deleted.getId());
+        BulkDeleteRequest request = BulkDeleteRequest.builder()
+                .ids(List.of(movie.getId()))
+                .build();
+
+        mockMvc.perform(post("/api/movies/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedIds", hasSize(0)))
+                .andExpect(jsonPath("$.notFoundIds[0]").value(movie.getId()));
+        mockMvc.perform(post("/api/movies/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                BulkDeleteRequest.builder().director("robert siodmak").build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedIds", hasSize(0)));
+
+        assertTrue(movieRepository.existsById(movie.getId()));
+    }
+
+    @Test
+    void bulkDelete_WithoutIdsOrFilter_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/movies/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkUpdate_WithRating_ShouldUpdateEveryListedMovie() throws Exception {
+        Movie first = saveMovie("Heat", "Michael Mann", 8.3);
+        Movie second = saveMovie("Ronin", "John Frankenheimer", 7.2);
+        mockMvc.perform(get("/api/movies/" + first.getId()))
+                .andExpect(jsonPath("$.rating").value(8.3));
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .ids(List.of(first.getId(), second.getId()))
+                .rating(9.0)
+                .build();
+
+        mockMvc.perform(post("/api/movies/bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedIds", hasSize(2)))
+                .andExpect(jsonPath("$.notFoundIds", hasSize(0)));
+
+        mockMvc.perform(get("/api/movies/" + first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(9.0));
+        assertEquals(1L, movieRepository.findVersionById(second.getId()).orElseThrow());
+    }
+
+    @Test
+    void bulkUpdate_WithNonExistingGenre_ShouldReturnNotFound() throws Exception {
+        Movie movie = saveMovie("Heat", "Michael Mann", 8.3);
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .ids(List.of(movie.getId()))
+                .genreId(999999L)
+                .build();
+
+        mockMvc.perform(post("/api/movies/bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchMovie_WithRating_ShouldChangeOnlyRating() throws Exception {
+        Movie movie = saveMovie("Heat", "Michael Mann", 8.3);
+
+        mockMvc.perform(patch("/api/movies/" + movie.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"rating\": 9.1}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(get("/api/movies/" + movie.getId()))
+                .andExpect(jsonPath("$.title").value("Heat"))
+                .andExpect(jsonPath("$.rating").value(9.1));
+    }
+
+    @Test
+    void patchMovie_WithNonExistingGenre_ShouldReturnNotFound() throws Exception {
+        Movie movie = saveMovie("Heat", "Michael Mann", 8.3);
+
+        mockMvc.perform(patch("/api/movies/" + movie.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"genreId\": 999999}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Genre not found with id: 999999"));
+    }
+
+    @Test
+    void patchMovie_WithSoftDeletedGenre_ShouldReturnNotFound() throws Exception {
+        Movie movie = saveMovie("Heat", "Michael Mann", 8.3);
+        Genre deleted = genreRepository.save(Genre.builder().name("Noir").followerCount(0).build());
+        genreRepository.markDeleted(deleted.getId());
+
+        mockMvc.perform(patch("/api/movies/" + movie.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"genreId\": " + deleted.getId() + "}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Genre not found with id: " + deleted.getId()));
+    }
+
+    @Test
+    void patchMovie_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        Movie movie = saveMovie("Heat", "Michael Mann", 8.3);
+
+        mockMvc.perform(patch("/api/movies/" + movie.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"genreName\": \"Drama\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchMovie_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        Movie movie = saveMovie("Heat", "Michael Mann", 8.3);
+
+        mockMvc.perform(patch("/api/movies/" + movie.getId())
+                        .contentType("application/merge-patch+json")
+                        .header(HttpHeaders.IF_MATCH, "\"7\"")
+                        .content("{\"rating\": 9.1}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private Movie saveMovie(String title, String director, double rating) {
+        return movieRepository.save(Movie.builder()
+                .title(title)
+                .director(director)
+                .rating(rating)
+                .genre(testGenre)
+                .build());
+    }
 }
@@ -0,0 +1,82 @@
+package com.example.movie_api.controller;
+
+import com.example.movie_api.cache.KnownIds;
+import com.example.movie_api.model.Genre;
+import com.example.movie_api.model.Movie;
+import com.example.movie_api.repository.GenreRepository;
+import com.example.movie_api.repository.MovieRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The filter is rebuilt from committed rows, so this test uses a private database
+ * instead of rolling back. Open id blocks are disabled so that every id up to the
+ * highest one is checked against the filter.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:movie-id-filter-test;DB_CLOSE_DELAY=-1",
+        "genre.followers.flush-interval=1h",
+        "catalog.id-filter.open-id-blocks=0"
+})
+@AutoConfigureMockMvc
+class MovieIdFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private KnownIds knownIds;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        movieRepository.deleteAll();
+        genreRepository.deleteAll();
+        knownIds.rebuild();
+    }
+
+    @Test
+    void getMovieById_WithIdRejectedByFilter_ShouldAnswerNotFoundWithoutQuery() throws Exception {
+        Genre genre = genreRepository.save(Genre.builder().name("Drama").followerCount(0).build());
+        Movie removed = saveMovie("Manhunter", genre);
+        Movie kept = saveMovie("Heat", genre);
+        movieRepository.deleteById(removed.getId());
+        knownIds.rebuild();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        mockMvc.perform(get("/api/movies/" + removed.getId()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Movie not found with id: " + removed.getId()));
+
+        assertEquals(statementsBefore, statistics.getPrepareStatementCount());
+        mockMvc.perform(get("/api/movies/" + kept.getId()))
+                .andExpect(status().isOk());
+    }
+
+    private Movie saveMovie(String title, Genre genre) {
+        return movieRepository.save(Movie.builder()
+                .title(title).director("Michael Mann").rating(8.0).genre(genre).build());
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.movie_api.controller;
+
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.model.Genre;
+import com.example.movie_api.model.Movie;
+import com.example.movie_api.repository.GenreRepository;
+import com.example.movie_api.repository.MovieRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The writer thread stores rows in its own transactions, so this test uses a
+ * private database instead of rolling back.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:movie-ingest-test;DB_CLOSE_DELAY=-1",
+        "genre.followers.flush-interval=1h"
+})
+@AutoConfigureMockMvc
+class MovieIngestControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private Genre genre;
+
+    @BeforeEach
+    void setUp() {
+        genre = genreRepository.save(Genre.builder().name("Action").followerCount(0).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        movieRepository.deleteAll();
+        genreRepository.deleteAll();
+    }
+
+    @Test
+    void ingestMovies_WithMixedRows_ShouldStoreValidRowsInBackground() throws Exception {
+        List<MovieDto> movies = List.of(
+                MovieDto.builder().title("The Matrix").director("Wachowski")
+                        .rating(8.7).genreId(genre.getId()).build(),
+                MovieDto.builder().title("Bad Rating").director("Someone")
+                        .rating(15.0).genreId(genre.getId()).build(),
+                MovieDto.builder().title("No Genre").director("Someone")
+                        .rating(5.0).genreId(999L).build(),
+                MovieDto.builder().title("Die Hard").director("McTiernan")
+                        .rating(8.2).genreId(genre.getId()).build());
+
+        String body = mockMvc.perform(post("/api/movies/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movies)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("http://localhost/api/movies/ingest/")))
+                .andExpect(jsonPath("$.submitted").value(4))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(body).get("jobId").asText();
+
+        JsonNode job = awaitCompletion(jobId);
+        assertThat(job.get("created").asInt()).isEqualTo(2);
+        assertThat(job.get("rejected").asInt()).isEqualTo(2);
+        assertThat(job.get("pending").asInt()).isZero();
+        assertThat(movieRepository.count()).isEqualTo(2);
+
+        mockMvc.perform(get("/api/movies/ingest/" + jobId + "/errors"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].index").value(1))
+                .andExpect(jsonPath("$[1].index").value(2))
+                .andExpect(jsonPath("$[1].error").value("Genre not found with id: 999"));
+    }
+
+    @Test
+    void ingestMovies_WithIds_ShouldUpdateExistingMoviesAndRejectUnknownIds() throws Exception {
+        Movie existing = movieRepository.save(Movie.builder()
+                .title("The Matrix").director("Wachowski").rating(8.0).genre(genre).build());
+        List<MovieDto> movies = List.of(
+                MovieDto.builder().id(existing.getId()).title("The Matrix").director("Wachowski")
+                        .rating(8.7).genreId(genre.getId()).build(),
+                MovieDto.builder().id(existing.getId() + 1000).title("Ghost").director("Someone")
+                        .rating(5.0).genreId(genre.getId()).build(),
+                MovieDto.builder().title("Die Hard").director("McTiernan")
+                        .rating(8.2).genreId(genre.getId()).build());
+
+        String body = mockMvc.perform(post("/api/movies/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movies)))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(body).get("jobId").asText();
+
+        JsonNode job = awaitCompletion(jobId);
+        assertThat(job.get("created").asInt()).isEqualTo(1);
+        assertThat(job.get("updated").asInt()).isEqualTo(1);
+        assertThat(job.get("rejected").asInt()).isEqualTo(1);
+        assertThat(movieRepository.count()).isEqualTo(2);
+        assertThat(movieRepository.findById(existing.getId()).orElseThrow().getRating()).isEqualTo(8.7);
+
+        mockMvc.perform(get("/api/movies/ingest/" + jobId + "/errors"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(1))
+                .andExpect(jsonPath("$[0].error").value("Movie not found with id: " + (existing.getId() + 1000)));
+    }
+
+    @Test
+    void ingestMovies_WithEmptyBody_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/movies/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getIngestJob_WithUnknownId_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/movies/ingest/unknown"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Ingest job not found with id: unknown"));
+    }
+
+    private JsonNode awaitCompletion(String jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String body = mockMvc.perform(get("/api/movies/ingest/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(body);
+            if ("COMPLETED".equals(job.get("state").asText()) || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.movie_api.controller;
+
+import com.example.movie_api.model.Genre;
+import com.example.movie_api.model.Movie;
+import com.example.movie_api.repository.GenreRepository;
+import com.example.movie_api.repository.MovieRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * R2DBC runs on its own connections, so the data has to be committed; this test
+ * uses a private database instead of rolling back.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-catalog-test;DB_CLOSE_DELAY=-1",
+        "genre.followers.flush-interval=1h"
+})
+@AutoConfigureMockMvc
+class ReactiveCatalogControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private Genre genre;
+
+    @BeforeEach
+    void setUp() {
+        genre = genreRepository.save(Genre.builder().name("Drama").followerCount(10).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        movieRepository.deleteAll();
+        genreRepository.deleteAll();
+    }
+
+    @Test
+    void getMovieById_WithExistingId_ShouldReturnMovie() throws Exception {
+        Movie movie = saveMovie("Heat", 8.3);
+
+        perform("/api/reactive/movies/" + movie.getId())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Heat"))
+                .andExpect(jsonPath("$.genreId").value(genre.getId()))
+                .andExpect(jsonPath("$.genreName").value("Drama"));
+    }
+
+    @Test
+    void getMovieById_WithMissingId_ShouldReturnNotFound() throws Exception {
+        perform("/api/reactive/movies/999999")
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Movie not found with id: 999999"));
+    }
+
+    @Test
+    void getMoviesByGenre_WithMorePagesThanLimit_ShouldReturnNextCursor() throws Exception {
+        saveMovie("Heat", 8.3);
+        saveMovie("Ronin", 7.2);
+        saveMovie("Collateral", 7.5);
+
+        perform("/api/reactive/movies/genre/" + genre.getId() + "?limit=2")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Heat"))
+                .andExpect(header().exists(PageResponses.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getMoviesByGenre_WithMissingGenre_ShouldReturnNotFound() throws Exception {
+        perform("/api/reactive/movies/genre/999999")
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getMoviesByGenre_WithInvalidLimit_ShouldReturnBadRequest() throws Exception {
+        perform("/api/reactive/movies/genre/" + genre.getId() + "?limit=0")
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getGenreById_WithExistingId_ShouldReturnGenre() throws Exception {
+        perform("/api/reactive/genres/" + genre.getId())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Drama"))
+                .andExpect(jsonPath("$.followerCount").value(10));
+    }
+
+    @Test
+    void getAllGenres_ShouldReturnPage() throws Exception {
+        perform("/api/reactive/genres")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist(PageResponses.NEXT_CURSOR_HEADER));
+    }
+
+    private ResultActions perform(String uri) throws Exception {
+        MvcResult started = mockMvc.perform(get(uri))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private Movie saveMovie(String title, double rating) {
+        return movieRepository.save(Movie.builder()
+                .title(title)
+                .director("Michael Mann")
+                .rating(rating)
+                .genre(genre)
+                .build());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.movie_api.controller;
+
+import com.example.movie_api.repository.JdbcCatalogRepository;
+import com.example.movie_api.repository.ReactiveCatalogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the reactive endpoint tests against the JDBC fallback used for datasources
+ * without an R2DBC driver.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-catalog-jdbc-test;DB_CLOSE_DELAY=-1",
+        "genre.followers.flush-interval=1h",
+        "movie.reactive.r2dbc-enabled=false"
+})
+@AutoConfigureMockMvc
+class ReactiveCatalogJdbcFallbackIntegrationTest extends ReactiveCatalogControllerIntegrationTest {
+
+    @Autowired
+    private ReactiveCatalogRepository catalogRepository;
+
+    @Test
+    void catalogRepository_WithR2dbcDisabled_ShouldFallBackToJdbc() {
+        assertThat(catalogRepository).isInstanceOf(JdbcCatalogRepository.class);
+    }
+}
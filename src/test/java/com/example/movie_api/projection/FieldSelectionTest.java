@@ -0,0 +1,36 @@
+package com.example.movie_api.projection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSelectionTest {
+
+    @Test
+    void parse_WithoutFields_ShouldSelectAll() {
+        assertTrue(FieldSelection.parse(null, FieldSelection.MOVIE_FIELDS).isAll());
+        assertTrue(FieldSelection.parse(" ", FieldSelection.MOVIE_FIELDS).isAll());
+    }
+
+    @Test
+    void parse_WithFields_ShouldAlwaysIncludeId() {
+        FieldSelection fields = FieldSelection.parse("rating, title", FieldSelection.MOVIE_FIELDS);
+
+        assertFalse(fields.isAll());
+        assertEquals(List.of("id", "title", "rating"), fields.select(FieldSelection.MOVIE_FIELDS));
+        assertFalse(fields.includes("genreName"));
+    }
+
+    @Test
+    void parse_WithEveryField_ShouldSelectAll() {
+        assertTrue(FieldSelection.parse("name,followerCount", FieldSelection.GENRE_FIELDS).isAll());
+    }
+
+    @Test
+    void parse_WithUnknownField_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FieldSelection.parse("title,budget", FieldSelection.MOVIE_FIELDS));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.movie_api.ranking;
+
+import com.example.movie_api.event.MovieSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenreRankingTest {
+
+    private GenreRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new GenreRanking(3);
+        ranking.put(null, movie(1L, 7.5, 10L));
+        ranking.put(null, movie(2L, 9.0, 10L));
+        ranking.put(null, movie(3L, 8.0, 10L));
+        ranking.put(null, movie(4L, 9.5, 20L));
+    }
+
+    @Test
+    void top_ShouldReturnHighestRatedMoviesOfGenre() {
+        assertEquals(List.of(2L, 3L), ids(ranking.top(10L, 2)));
+    }
+
+    @Test
+    void top_WithEqualRatings_ShouldPreferLowerId() {
+        ranking.put(null, movie(5L, 9.0, 10L));
+
+        assertEquals(List.of(2L, 5L, 3L), ids(ranking.top(10L, 3)));
+    }
+
+    @Test
+    void top_WithUnknownGenre_ShouldReturnEmptyList() {
+        assertTrue(ranking.top(99L, 5).isEmpty());
+    }
+
+    @Test
+    void put_WithRatingChange_ShouldReposition() {
+        ranking.put(movie(1L, 7.5, 10L), movie(1L, 9.9, 10L));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(ranking.top(10L, 5)));
+        assertEquals(4, ranking.size());
+    }
+
+    @Test
+    void put_WithGenreMove_ShouldLeaveOldGenre() {
+        ranking.put(movie(2L, 9.0, 10L), movie(2L, 9.0, 20L));
+
+        assertEquals(List.of(3L, 1L), ids(ranking.top(10L, 5)));
+        assertEquals(List.of(4L, 2L), ids(ranking.top(20L, 5)));
+    }
+
+    @Test
+    void remove_ShouldDropMovie() {
+        ranking.remove(movie(2L, 9.0, 10L));
+
+        assertEquals(List.of(3L, 1L), ids(ranking.top(10L, 5)));
+    }
+
+    @Test
+    void removeGenre_ShouldDropAllItsMovies() {
+        ranking.removeGenre(10L);
+
+        assertTrue(ranking.top(10L, 5).isEmpty());
+        assertEquals(1, ranking.size());
+    }
+
+    @Test
+    void put_BeyondCapacity_ShouldKeepOnlyBestMovies() {
+        ranking.put(null, movie(5L, 8.5, 10L));
+        ranking.put(null, movie(6L, 1.0, 10L));
+
+        assertEquals(List.of(2L, 5L, 3L), ids(ranking.top(10L, 5)));
+        assertEquals(4, ranking.size());
+    }
+
+    @Test
+    void top_AfterMemberOfTruncatedGenreDropsOut_ShouldAskForRefill() {
+        ranking.put(null, movie(5L, 8.5, 10L));
+
+        ranking.remove(movie(3L, 8.0, 10L));
+
+        assertNull(ranking.top(10L, 3));
+    }
+
+    @Test
+    void refill_ShouldServeTheDatabaseRanking() {
+        ranking.put(null, movie(5L, 8.5, 10L));
+        ranking.remove(movie(3L, 8.0, 10L));
+        long generation = ranking.generation(10L);
+
+        assertTrue(ranking.refill(10L, List.of(movie(2L, 9.0, 10L), movie(5L, 8.5, 10L), movie(1L, 7.5, 10L)),
+                generation));
+
+        assertEquals(List.of(2L, 5L, 1L), ids(ranking.top(10L, 3)));
+    }
+
+    @Test
+    void refill_AfterConcurrentChange_ShouldBeIgnored() {
+        ranking.put(null, movie(5L, 8.5, 10L));
+        ranking.remove(movie(3L, 8.0, 10L));
+        long generation = ranking.generation(10L);
+        ranking.remove(movie(1L, 7.5, 10L));
+
+        assertFalse(ranking.refill(10L, List.of(movie(2L, 9.0, 10L), movie(5L, 8.5, 10L), movie(1L, 7.5, 10L)),
+                generation));
+
+        assertNull(ranking.top(10L, 3));
+    }
+
+    private static MovieSnapshot movie(Long id, double rating, Long genreId) {
+        return new MovieSnapshot(id, "Movie " + id, "Director", rating, genreId);
+    }
+
+    private static List<Long> ids(List<MovieSnapshot> movies) {
+        return movies.stream().map(MovieSnapshot::getId).toList();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.movie_api.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieSearchIndexTest {
+
+    private MovieSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MovieSearchIndex();
+        index.put(1L, "The Matrix", "Lana Wachowski", 10L);
+        index.put(2L, "Inception", "Christopher Nolan", 10L);
+        index.put(3L, "Memento", "Christopher Nolan", 10L);
+        index.put(4L, "Amélie", "Jean-Pierre Jeunet", 20L);
+    }
+
+    @Test
+    void search_WithInfixTerm_ShouldMatchLikeSubstringSearch() {
+        SearchHits hits = index.search("atri", 0, 10);
+
+        assertEquals(1, hits.getTotal());
+        assertEquals(List.of(1L), hits.getIds());
+    }
+
+    @Test
+    void search_WithShortTerm_ShouldMatchTokenPrefix() {
+        SearchHits hits = index.search("me", 0, 10);
+
+        assertEquals(List.of(3L), hits.getIds());
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDirectorMatches() {
+        index.put(5L, "Nolan: A Portrait", "Someone Else", 10L);
+
+        SearchHits hits = index.search("nolan", 0, 10);
+
+        assertEquals(3, hits.getTotal());
+        assertEquals(5L, hits.getIds().get(0));
+    }
+
+    @Test
+    void search_WithSeveralTerms_ShouldRequireAllOfThem() {
+        SearchHits hits = index.search("nolan memento", 0, 10);
+
+        assertEquals(List.of(3L), hits.getIds());
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAndAccents() {
+        assertEquals(List.of(4L), index.search("AMELIE", 0, 10).getIds());
+    }
+
+    @Test
+    void search_ShouldPaginateRankedHits() {
+        SearchHits hits = index.search("christopher", 1, 1);
+
+        assertEquals(2, hits.getTotal());
+        assertEquals(List.of(3L), hits.getIds());
+    }
+
+    @Test
+    void put_WithExistingId_ShouldReplaceIndexedText() {
+        index.put(1L, "The Matrix Reloaded", "Lana Wachowski", 10L);
+
+        assertEquals(List.of(1L), index.search("reloaded", 0, 10).getIds());
+
+        index.put(1L, "Speed Racer", "Lana Wachowski", 10L);
+
+        assertTrue(index.search("matrix", 0, 10).getIds().isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void remove_ShouldDropMovieFromResults() {
+        index.remove(2L);
+
+        assertEquals(List.of(3L), index.search("nolan", 0, 10).getIds());
+    }
+
+    @Test
+    void removeGenre_ShouldDropOnlyThatGenresMovies() {
+        index.removeGenre(10L);
+
+        assertTrue(index.search("nolan", 0, 10).getIds().isEmpty());
+        assertEquals(List.of(4L), index.search("amelie", 0, 10).getIds());
+        assertEquals(1, index.size());
+    }
+}
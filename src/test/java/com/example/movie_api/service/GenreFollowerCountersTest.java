@@ -0,0 +1,116 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.GenreSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GenreFollowerCountersTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private GenreFollowerCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        counters = new GenreFollowerCounters(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteNetDeltaPerGenreInOneBatch() {
+        counters.add(1L, 1);
+        counters.add(1L, 1);
+        counters.add(1L, -1);
+        counters.add(2L, 1);
+        counters.add(3L, 1);
+        counters.add(3L, -1);
+
+        counters.flush();
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), updates.capture());
+        assertEquals(2, updates.getValue().size());
+        assertEquals(0, counters.pendingDelta(1L));
+    }
+
+    @Test
+    void flush_WithNothingPending_ShouldNotTouchDatabase() {
+        counters.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flush_AfterGenreGoesQuiet_ShouldDropItsCounter() {
+        counters.add(1L, 1);
+        counters.add(2L, 1);
+        counters.add(2L, -1);
+
+        counters.flush();
+        assertEquals(1, counters.trackedGenres());
+        counters.flush();
+
+        assertEquals(0, counters.trackedGenres());
+        counters.add(1L, 2);
+        assertEquals(2, counters.pendingDelta(1L));
+    }
+
+    @Test
+    void flushOnShutdown_ShouldWriteInsideTransaction() {
+        counters.add(1L, 1);
+
+        counters.flushOnShutdown();
+
+        verify(transactionTemplate).execute(any());
+        verify(jdbcTemplate).batchUpdate(argThat((String sql) -> !sql.contains("version")), anyList());
+    }
+
+    @Test
+    void flush_WhenUpdateFails_ShouldKeepDeltasForNextFlush() {
+        counters.add(1L, 3);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> counters.flush());
+
+        assertEquals(3, counters.pendingDelta(1L));
+    }
+
+    @Test
+    void isKnownGenre_ShouldOnlyCachePositiveLookups() {
+        assertFalse(counters.isKnownGenre(1L, id -> false));
+        assertTrue(counters.isKnownGenre(1L, id -> true));
+        assertTrue(counters.isKnownGenre(1L, id -> false));
+    }
+
+    @Test
+    void onGenreChanged_WithDeletion_ShouldDropPendingFollows() {
+        counters.add(1L, 4);
+
+        counters.onGenreChanged(GenreChangedEvent.deleted(new GenreSnapshot(1L, "Action")));
+
+        assertEquals(0, counters.pendingDelta(1L));
+    }
+}
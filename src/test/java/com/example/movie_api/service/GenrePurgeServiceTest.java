@@ -0,0 +1,128 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.dto.GenrePurgeDto;
+import com.example.movie_api.event.GenreChangedEvent;
+import com.example.movie_api.event.GenreSnapshot;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
+import com.example.movie_api.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GenrePurgeServiceTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private GenrePurgeService genrePurgeService;
+
+    @BeforeEach
+    void setUp() {
+        genrePurgeService = newService(Duration.ofHours(1));
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(1L))).thenReturn(3L);
+    }
+
+    @Test
+    void purge_ShouldDeleteMoviesInChunksThenGenre() {
+        when(movieRepository.findSnapshotsByGenreId(1L, Limit.of(2)))
+                .thenReturn(List.of(movie(10L), movie(11L)))
+                .thenReturn(List.of(movie(12L)));
+
+        GenrePurgeDto result = genrePurgeService.purge(1L);
+
+        verify(movieRepository).deleteByIdIn(List.of(10L, 11L));
+        verify(movieRepository).deleteByIdIn(List.of(12L));
+        verify(eventPublisher, times(3)).publishEvent(any(MovieChangedEvent.class));
+        verify(jdbcTemplate).update(startsWith("delete from genre"), eq(1L));
+        assertEquals(GenrePurgeDto.State.COMPLETED, result.getState());
+        assertEquals(3, result.getMoviesTotal());
+        assertEquals(3, result.getMoviesDeleted());
+        assertEquals(GenrePurgeDto.State.COMPLETED, genrePurgeService.findPurge(1L).orElseThrow().getState());
+    }
+
+    @Test
+    void purge_WhenChunkFails_ShouldRecordFailureAndKeepGenre() {
+        when(movieRepository.findSnapshotsByGenreId(1L, Limit.of(2)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> genrePurgeService.purge(1L));
+
+        GenrePurgeDto status = genrePurgeService.findPurge(1L).orElseThrow();
+        assertEquals(GenrePurgeDto.State.FAILED, status.getState());
+        assertEquals("database unavailable", status.getError());
+        verify(jdbcTemplate, never()).update(startsWith("delete from genre"), any(Object[].class));
+    }
+
+    @Test
+    void purge_AfterRetention_ShouldForgetFinishedPurge() {
+        genrePurgeService = newService(Duration.ZERO);
+        when(movieRepository.findSnapshotsByGenreId(1L, Limit.of(2))).thenReturn(List.of());
+
+        genrePurgeService.purge(1L);
+
+        assertTrue(genrePurgeService.findPurge(1L).isEmpty());
+    }
+
+    @Test
+    void resumePurges_WhenOneGenreFails_ShouldStillPurgeTheOthers() {
+        when(jdbcTemplate.queryForList(startsWith("select id from genre"), eq(Long.class))).thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(2L))).thenReturn(0L);
+        when(movieRepository.findSnapshotsByGenreId(1L, Limit.of(2)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        when(movieRepository.findSnapshotsByGenreId(2L, Limit.of(2))).thenReturn(List.of());
+
+        genrePurgeService.resumePurges();
+
+        assertEquals(GenrePurgeDto.State.FAILED, genrePurgeService.findPurge(1L).orElseThrow().getState());
+        assertEquals(GenrePurgeDto.State.COMPLETED, genrePurgeService.findPurge(2L).orElseThrow().getState());
+        verify(jdbcTemplate).update(startsWith("delete from genre"), eq(2L));
+    }
+
+    @Test
+    void afterGenreDeleteCommitted_WithRename_ShouldNotPurge() {
+        genrePurgeService.afterGenreDeleteCommitted(GenreChangedEvent.updated(
+                new GenreSnapshot(1L, "Drama"), new GenreSnapshot(1L, "Melodrama")));
+
+        verifyNoInteractions(movieRepository);
+        assertTrue(genrePurgeService.findPurge(1L).isEmpty());
+    }
+
+    private GenrePurgeService newService(Duration retention) {
+        GenrePurgeService service = new GenrePurgeService(
+                movieRepository, jdbcTemplate, transactionTemplate, eventPublisher, retention);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        return service;
+    }
+
+    private static MovieSnapshot movie(Long id) {
+        return new MovieSnapshot(id, "Movie " + id, "Director", 7.0, 1L);
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.movie_api.service;
 
+import com.example.movie_api.cache.CollectionVersions;
+import com.example.movie_api.cache.ReadCoalescer;
+import com.example.movie_api.cache.VersionedGenre;
 import com.example.movie_api.dto.GenreDto;
 import com.example.movie_api.exception.ResourceNotFoundException;
 import com.example.movie_api.mapper.GenreMapper;
 import com.example.movie_api.model.Genre;
+import com.example.movie_api.pagination.ApproximateCounts;
+import com.example.movie_api.pagination.CursorCodec;
+import com.example.movie_api.pagination.CursorPage;
 import com.example.movie_api.repository.GenreRepository;
 import com.example.movie_api.validation.ValidationService;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +17,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -19,7 +28,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +45,21 @@ class GenreServiceTest {
     @Mock
     private ValidationService validationService;
 
+    @Mock
+    private ApproximateCounts approximateCounts;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private GenreFollowerCounters followerCounters;
+
+    @Mock
+    private CollectionVersions collectionVersions;
+
+    @Spy
+    private ReadCoalescer readCoalescer = new ReadCoalescer();
+
     @InjectMocks
     private GenreService genreService;
 
@@ -104,6 +130,21 @@ class GenreServiceTest {
         verify(genreMapper, times(2)).toDto(any(Genre.class));
     }
 
+    @Test
+    void findGenresPage_WithMoreRowsThanLimit_ShouldReturnNextCursor() {
+        Genre genre2 = Genre.builder().id(2L).name("Drama").followerCount(800).build();
+
+        when(genreRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .thenReturn(Arrays.asList(testGenre, genre2));
+        when(genreMapper.toDto(any(Genre.class))).thenReturn(testGenreDto);
+
+        CursorPage<GenreDto> result = genreService.findGenresPage(null, 1, false);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(CursorCodec.encode(1L), result.getNextCursor());
+        verify(genreRepository, never()).findAll();
+    }
+
     @Test
     void findGenreById_WithExistingId_ShouldReturnGenreDto() {
         when(genreRepository.findById(1L)).thenReturn(Optional.of(testGenre));
@@ -117,6 +158,53 @@ class GenreServiceTest {
         verify(genreMapper, times(1)).toDto(testGenre);
     }
 
+    @Test
+    void findGenreById_WithPendingFollows_ShouldMergeThem() {
+        when(genreRepository.findById(1L)).thenReturn(Optional.of(testGenre));
+        when(genreMapper.toDto(testGenre)).thenReturn(testGenreDto);
+        when(followerCounters.pendingDelta(1L)).thenReturn(5L);
+
+        GenreDto result = genreService.findGenreById(1L);
+
+        assertEquals(1005, result.getFollowerCount());
+    }
+
+    @Test
+    void followGenre_WithExistingGenre_ShouldAddPendingFollow() {
+        when(followerCounters.isKnownGenre(eq(1L), any())).thenReturn(true);
+
+        genreService.followGenre(1L);
+
+        verify(followerCounters, times(1)).add(1L, 1);
+        verify(collectionVersions, times(1)).bump(CollectionVersions.GENRES);
+        verify(genreRepository, never()).save(any(Genre.class));
+    }
+
+    @Test
+    void findVersionedGenre_ShouldCombineVersionAndServedFollowerCountInOneRead() {
+        testGenre.setVersion(4L);
+        when(genreRepository.findById(1L)).thenReturn(Optional.of(testGenre));
+        when(genreMapper.toDto(testGenre)).thenReturn(testGenreDto);
+        when(followerCounters.pendingDelta(1L)).thenReturn(2L);
+
+        VersionedGenre result = genreService.findVersionedGenre(1L);
+
+        assertEquals("4.1002", result.getRevision());
+        assertEquals(1002, result.getGenre().getFollowerCount());
+        verify(genreRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    void unfollowGenre_WithNonExistingGenre_ShouldThrowException() {
+        when(followerCounters.isKnownGenre(eq(999L), any())).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> {
+            genreService.unfollowGenre(999L);
+        });
+
+        verify(followerCounters, never()).add(any(), anyLong());
+    }
+
     @Test
     void findGenreById_WithNonExistingId_ShouldThrowException() {
         when(genreRepository.findById(999L)).thenReturn(Optional.empty());
@@ -154,7 +242,8 @@ class GenreServiceTest {
 
         genreService.deleteGenre(1L);
 
-        verify(genreRepository, times(1)).deleteById(1L);
+        verify(genreRepository, times(1)).markDeleted(1L);
+        verify(genreRepository, never()).deleteById(any());
     }
 
     @Test
@@ -0,0 +1,107 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.event.MovieChangedEvent;
+import com.example.movie_api.event.MovieSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GenreStatsServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private GenreStatsService genreStatsService;
+
+    @BeforeEach
+    void setUp() {
+        genreStatsService = new GenreStatsService(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(genreStatsService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onMovieChanged_WithoutTransaction_ShouldApplyRightAway() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+        genreStatsService.onMovieChanged(MovieChangedEvent.created(movie(1L, 8.5, 10L)));
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("update genre_stats"), updates.capture());
+        Object[] args = updates.getValue().get(0);
+        assertEquals(1L, args[0]);
+        assertEquals(8.5, args[1]);
+        assertEquals(1L, args[2 + 8]);
+        assertEquals(10L, args[args.length - 1]);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onMovieChanged_InTransaction_ShouldWriteMergedDeltasBeforeCommit() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1});
+        TransactionSynchronizationManager.initSynchronization();
+
+        genreStatsService.onMovieChanged(MovieChangedEvent.created(movie(1L, 7.0, 10L)));
+        genreStatsService.onMovieChanged(MovieChangedEvent.created(movie(2L, 9.0, 10L)));
+        genreStatsService.onMovieChanged(MovieChangedEvent.updated(movie(2L, 9.0, 10L), movie(2L, 9.0, 20L)));
+        verifyNoInteractions(jdbcTemplate);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.beforeCommit(false));
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), updates.capture());
+        assertEquals(2, updates.getValue().size());
+        for (Object[] args : updates.getValue()) {
+            assertEquals(1L, args[0]);
+        }
+    }
+
+    @Test
+    void onMovieChanged_WithUnchangedStats_ShouldNotTouchDatabase() {
+        genreStatsService.onMovieChanged(MovieChangedEvent.updated(movie(1L, 7.0, 10L), movie(1L, 7.0, 10L)));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void onMovieChanged_WithMissingRow_ShouldInsertIt() {
+        when(jdbcTemplate.batchUpdate(startsWith("update"), anyList())).thenReturn(new int[]{0});
+
+        genreStatsService.onMovieChanged(MovieChangedEvent.created(movie(1L, 5.0, 10L)));
+
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into genre_stats"), anyList());
+    }
+
+    @Test
+    void bucketOf_ShouldPutTenIntoLastBucket() {
+        assertEquals(0, GenreStatsService.bucketOf(0.0));
+        assertEquals(7, GenreStatsService.bucketOf(7.9));
+        assertEquals(9, GenreStatsService.bucketOf(10.0));
+    }
+
+    private static MovieSnapshot movie(Long id, double rating, Long genreId) {
+        return new MovieSnapshot(id, "Movie " + id, "Director", rating, genreId);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.movie_api.service;
+
+import com.example.movie_api.dto.BatchResult;
+import com.example.movie_api.dto.BatchRowResult;
+import com.example.movie_api.dto.IngestJobDto;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.exception.QueueFullException;
+import com.example.movie_api.validation.ValidationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieIngestServiceTest {
+
+    @Mock
+    private MovieBatchService movieBatchService;
+
+    private MovieIngestService movieIngestService;
+
+    @BeforeEach
+    void setUp() {
+        movieIngestService = new MovieIngestService(movieBatchService, new ValidationServiceImpl(), 3, 10, Duration.ofSeconds(2), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        movieIngestService.stopWriter();
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldRejectWholeRequest() {
+        movieIngestService.submit(List.of(movie("A"), movie("B")).iterator());
+
+        QueueFullException exception = assertThrows(QueueFullException.class,
+                () -> movieIngestService.submit(List.of(movie("C"), movie("D")).iterator()));
+
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(2, movieIngestService.getQueuedRows());
+        verify(movieBatchService, never()).upsert(any());
+    }
+
+    @Test
+    void submit_WithOnlyInvalidRows_ShouldCompleteWithoutQueueing() {
+        MovieDto invalid = movie("Bad");
+        invalid.setRating(15.0);
+
+        IngestJobDto job = movieIngestService.submit(List.of(invalid).iterator());
+
+        assertEquals(IngestJobDto.State.COMPLETED, job.getState());
+        assertEquals(1, job.getRejected());
+        assertEquals(0, movieIngestService.getQueuedRows());
+        assertEquals("rating: Rating must be between 0.0 and 10.0",
+                movieIngestService.findRejections(job.getJobId()).orElseThrow().get(0).getError());
+    }
+
+    @Test
+    void submit_WithMoreRowsThanCapacity_ShouldStopReadingAndReject() {
+        Iterator<MovieDto> endless = Stream.generate(() -> movie("A")).iterator();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> movieIngestService.submit(endless));
+
+        assertEquals("Ingest request cannot exceed 3 rows", exception.getMessage());
+        assertEquals(0, movieIngestService.getQueuedRows());
+    }
+
+    @Test
+    void findJob_ShouldKeepQueuedJobAndExpireItOnlyAfterCompletion() throws InterruptedException {
+        movieIngestService = new MovieIngestService(movieBatchService, new ValidationServiceImpl(), 3, 10, Duration.ofSeconds(2), Duration.ZERO);
+        when(movieBatchService.upsert(any())).thenAnswer(invocation -> {
+            BatchResult result = new BatchResult();
+            result.add(BatchRowResult.created(0, 10L));
+            return result;
+        });
+
+        IngestJobDto submitted = movieIngestService.submit(List.of(movie("A")).iterator());
+        assertTrue(movieIngestService.findJob(submitted.getJobId()).isPresent());
+
+        movieIngestService.startWriter();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (movieIngestService.findJob(submitted.getJobId()).isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(movieIngestService.findJob(submitted.getJobId()).isEmpty());
+        assertEquals(0, movieIngestService.getQueuedRows());
+    }
+
+    @Test
+    void writer_ShouldStoreQueuedRowsAndReleaseCapacity() throws InterruptedException {
+        MovieDto invalid = movie("Bad");
+        invalid.setRating(15.0);
+        when(movieBatchService.upsert(any())).thenAnswer(invocation -> {
+            BatchResult result = new BatchResult();
+            result.add(BatchRowResult.created(0, 10L));
+            result.add(BatchRowResult.rejected(1, "Genre not found with id: 1"));
+            return result;
+        });
+
+        IngestJobDto submitted = movieIngestService.submit(List.of(movie("A"), invalid, movie("C")).iterator());
+        movieIngestService.startWriter();
+
+        IngestJobDto job = awaitCompletion(submitted.getJobId());
+        assertEquals(IngestJobDto.State.COMPLETED, job.getState());
+        assertEquals(1, job.getCreated());
+        assertEquals(2, job.getRejected());
+        assertEquals(0, movieIngestService.getQueuedRows());
+
+        List<BatchRowResult> rejections = movieIngestService.findRejections(submitted.getJobId()).orElseThrow();
+        assertEquals(1, rejections.get(0).getIndex());
+        assertEquals(2, rejections.get(1).getIndex());
+    }
+
+    @Test
+    void writer_WhenBatchFails_ShouldRejectItsRows() throws InterruptedException {
+        when(movieBatchService.upsert(any())).thenThrow(new IllegalStateException("boom"));
+
+        IngestJobDto submitted = movieIngestService.submit(List.of(movie("A"), movie("B")).iterator());
+        movieIngestService.startWriter();
+
+        IngestJobDto job = awaitCompletion(submitted.getJobId());
+        assertEquals(2, job.getRejected());
+        assertEquals("Row could not be stored",
+                movieIngestService.findRejections(submitted.getJobId()).orElseThrow().get(0).getError());
+    }
+
+    private IngestJobDto awaitCompletion(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        IngestJobDto job = movieIngestService.findJob(jobId).orElseThrow();
+        while (job.getState() != IngestJobDto.State.COMPLETED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = movieIngestService.findJob(jobId).orElseThrow();
+        }
+        return job;
+    }
+
+    private static MovieDto movie(String title) {
+        return MovieDto.builder().title(title).director("Director").rating(7.0).genreId(1L).build();
+    }
+}
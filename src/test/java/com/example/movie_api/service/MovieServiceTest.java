@@ -1,26 +1,43 @@
 package com.example.movie_api.service;
 
+import com.example.movie_api.cache.GenreMoviesCache;
+import com.example.movie_api.cache.KnownIds;
+import com.example.movie_api.cache.MovieDtoCache;
+import com.example.movie_api.cache.VersionedMovie;
 import com.example.movie_api.dto.MovieDto;
 import com.example.movie_api.exception.ResourceNotFoundException;
 import com.example.movie_api.mapper.MovieMapper;
 import com.example.movie_api.model.Genre;
 import com.example.movie_api.model.Movie;
+import com.example.movie_api.pagination.ApproximateCounts;
+import com.example.movie_api.pagination.CursorCodec;
+import com.example.movie_api.pagination.CursorPage;
 import com.example.movie_api.repository.GenreRepository;
 import com.example.movie_api.repository.MovieRepository;
 import com.example.movie_api.validation.ValidationService;
+import com.example.movie_api.event.MovieChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +55,24 @@ class MovieServiceTest {
     @Mock
     private ValidationService validationService;
 
+    @Mock
+    private ApproximateCounts approximateCounts;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private GenreMoviesCache genreMoviesCache = new GenreMoviesCache(100, 1000, Duration.ofMinutes(10));
+
+    @Spy
+    private MovieDtoCache movieDtoCache = new MovieDtoCache(100, Duration.ofMinutes(10));
+
+    @Spy
+    private KnownIds knownIds = new KnownIds(null, 0.01, 20);
+
     @InjectMocks
     private MovieService movieService;
 
@@ -88,6 +123,7 @@ class MovieServiceTest {
         verify(validationService, times(1)).validateRating(any(Double.class));
         verify(movieRepository, times(1)).save(any(Movie.class));
         verify(movieMapper, times(1)).toDto(testMovie);
+        verify(eventPublisher, times(1)).publishEvent(any(MovieChangedEvent.class));
     }
 
     @Test
@@ -118,14 +154,6 @@ class MovieServiceTest {
 
     @Test
     void findAllMovies_ShouldReturnListOfMovies() {
-        Movie movie2 = Movie.builder()
-                .id(2L)
-                .title("Inception")
-                .director("Nolan")
-                .rating(8.8)
-                .genre(testGenre)
-                .build();
-
         MovieDto movieDto2 = MovieDto.builder()
                 .id(2L)
                 .title("Inception")
@@ -135,50 +163,168 @@ class MovieServiceTest {
                 .genreName("Action")
                 .build();
 
-        when(movieRepository.findAll()).thenReturn(Arrays.asList(testMovie, movie2));
-        when(movieMapper.toDto(testMovie)).thenReturn(testMovieDto);
-        when(movieMapper.toDto(movie2)).thenReturn(movieDto2);
+        when(movieRepository.findAllDtos()).thenReturn(Arrays.asList(testMovieDto, movieDto2));
 
         List<MovieDto> result = movieService.findAllMovies();
 
         assertEquals(2, result.size());
-        verify(movieRepository, times(1)).findAll();
-        verify(movieMapper, times(2)).toDto(any(Movie.class));
+        verify(movieRepository, times(1)).findAllDtos();
+        verify(movieRepository, never()).findAll();
+        verify(movieMapper, never()).toDto(any(Movie.class));
     }
 
     @Test
-    void findMovieById_WithExistingId_ShouldReturnMovieDto() {
-        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
+    void findMoviesPage_WithMoreRowsThanLimit_ShouldReturnNextCursor() {
+        MovieDto movieDto2 = MovieDto.builder().id(2L).title("Inception").director("Nolan")
+                .rating(8.8).genreId(1L).genreName("Action").build();
+
+        when(movieRepository.findDtoPage(0L, Limit.of(2)))
+                .thenReturn(Arrays.asList(testMovieDto, movieDto2));
+
+        CursorPage<MovieDto> result = movieService.findMoviesPage(null, 1, false);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(CursorCodec.encode(1L), result.getNextCursor());
+        assertNull(result.getApproximateTotal());
+        verify(validationService, times(1)).validatePageLimit(1);
+        verify(movieRepository, never()).findAll();
+    }
+
+    @Test
+    void findMoviesPage_WithCursorAndTotal_ShouldSeekPastCursor() {
+        when(movieRepository.findDtoPage(5L, Limit.of(11)))
+                .thenReturn(Arrays.asList(testMovieDto));
+        when(approximateCounts.get(eq("movies"), any())).thenReturn(42L);
+
+        CursorPage<MovieDto> result = movieService.findMoviesPage(CursorCodec.encode(5L), 10, true);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+        assertEquals(42L, result.getApproximateTotal());
+    }
+
+    @Test
+    void findMoviesByGenrePage_WithNonExistingGenre_ShouldThrowException() {
+        when(movieRepository.findDtoPageByGenreId(999L, 0L, Limit.of(1001))).thenReturn(List.of());
+        when(genreRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> {
+            movieService.findMoviesByGenrePage(999L, null, 10, false);
+        });
+    }
+
+    @Test
+    void findMoviesByGenrePage_ShouldServeLaterPagesFromCache() {
+        MovieDto movieDto2 = MovieDto.builder().id(2L).title("Inception").director("Nolan")
+                .rating(8.8).genreId(1L).genreName("Action").build();
+        when(movieRepository.findDtoPageByGenreId(1L, 0L, Limit.of(1001)))
+                .thenReturn(Arrays.asList(testMovieDto, movieDto2));
+
+        CursorPage<MovieDto> first = movieService.findMoviesByGenrePage(1L, null, 1, true);
+        CursorPage<MovieDto> second = movieService.findMoviesByGenrePage(1L, first.getNextCursor(), 1, false);
+
+        assertEquals(List.of(testMovieDto), first.getItems());
+        assertEquals(2L, first.getApproximateTotal());
+        assertEquals(List.of(movieDto2), second.getItems());
+        assertNull(second.getNextCursor());
+        verify(movieRepository, times(1)).findDtoPageByGenreId(any(), any(), any());
+    }
+
+    @Test
+    void exportMovies_ShouldStreamEveryMovieAndDetachIt() {
+        when(movieRepository.streamAllWithGenre()).thenReturn(Stream.of(testMovie));
         when(movieMapper.toDto(testMovie)).thenReturn(testMovieDto);
+        List<MovieDto> exported = new ArrayList<>();
+
+        movieService.exportMovies(exported::add);
+
+        assertEquals(List.of(testMovieDto), exported);
+        verify(entityManager, times(1)).detach(testMovie);
+        verify(movieRepository, never()).findAll();
+    }
+
+    @Test
+    void findMovieById_WithExistingId_ShouldReturnMovieDto() {
+        when(movieRepository.findVersionedById(1L)).thenReturn(Optional.of(new VersionedMovie(testMovieDto, 0L, 0L)));
 
         MovieDto result = movieService.findMovieById(1L);
 
         assertNotNull(result);
         assertEquals("The Matrix", result.getTitle());
-        verify(movieRepository, times(1)).findById(1L);
-        verify(movieMapper, times(1)).toDto(testMovie);
+        verify(movieRepository, times(1)).findVersionedById(1L);
+        verify(movieRepository, never()).findById(any());
+    }
+
+    @Test
+    void findMovieById_CalledTwice_ShouldServeSecondReadFromCache() {
+        when(movieRepository.findVersionedById(1L)).thenReturn(Optional.of(new VersionedMovie(testMovieDto, 0L, 0L)));
+
+        movieService.findMovieById(1L);
+        MovieDto result = movieService.findMovieById(1L);
+
+        assertEquals("The Matrix", result.getTitle());
+        verify(movieRepository, times(1)).findVersionedById(1L);
     }
 
     @Test
     void findMovieById_WithNonExistingId_ShouldThrowException() {
-        when(movieRepository.findById(999L)).thenReturn(Optional.empty());
+        when(movieRepository.findVersionedById(999L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             movieService.findMovieById(999L);
         });
     }
 
+    @Test
+    void findMovieById_WithIdUnknownToFilter_ShouldThrowWithoutQuery() {
+        doReturn(false).when(knownIds).mightExistMovie(999L);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> movieService.findMovieById(999L));
+
+        assertEquals("Movie not found with id: 999", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void findMoviesByGenrePage_WithGenreUnknownToFilter_ShouldThrowWithoutQuery() {
+        doReturn(false).when(knownIds).mightExistGenre(999L);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> movieService.findMoviesByGenrePage(999L, null, 10, false));
+
+        verifyNoInteractions(movieRepository, genreRepository);
+    }
+
     @Test
     void findMoviesByGenre_WithExistingGenre_ShouldReturnMovies() {
-        when(genreRepository.existsById(1L)).thenReturn(true);
-        when(movieRepository.findByGenreId(1L)).thenReturn(Arrays.asList(testMovie));
-        when(movieMapper.toDto(testMovie)).thenReturn(testMovieDto);
+        when(movieRepository.findDtoPageByGenreId(1L, 0L, Limit.of(1001))).thenReturn(Arrays.asList(testMovieDto));
 
         List<MovieDto> result = movieService.findMoviesByGenre(1L);
 
         assertEquals(1, result.size());
         assertEquals("The Matrix", result.get(0).getTitle());
-        verify(movieMapper, times(1)).toDto(testMovie);
+        verify(genreRepository, never()).existsById(any());
+        verify(movieMapper, never()).toDto(any(Movie.class));
+    }
+
+    @Test
+    void findMoviesByGenre_WithEmptyExistingGenre_ShouldReturnEmptyList() {
+        when(movieRepository.findDtoPageByGenreId(1L, 0L, Limit.of(1001))).thenReturn(List.of());
+        when(genreRepository.existsById(1L)).thenReturn(true);
+
+        assertTrue(movieService.findMoviesByGenre(1L).isEmpty());
+    }
+
+    @Test
+    void findMoviesByGenre_CalledTwice_ShouldHitDatabaseOnce() {
+        when(movieRepository.findDtoPageByGenreId(1L, 0L, Limit.of(1001))).thenReturn(Arrays.asList(testMovieDto));
+
+        movieService.findMoviesByGenre(1L);
+        movieService.findMoviesByGenre(1L);
+
+        verify(movieRepository, times(1)).findDtoPageByGenreId(any(), any(), any());
     }
 
     @Test
@@ -204,21 +350,49 @@ class MovieServiceTest {
         verify(movieRepository, times(1)).save(testMovie);
     }
 
+    @Test
+    void patchMovie_WithNewGenre_ShouldUseReferenceInsteadOfLoadingGenre() throws Exception {
+        Genre drama = Genre.builder().id(2L).name("Drama").followerCount(10).build();
+        testMovie.setVersion(3L);
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
+        when(genreRepository.existsById(2L)).thenReturn(true);
+        when(genreRepository.getReferenceById(2L)).thenReturn(drama);
+
+        long version = movieService.patchMovie(1L, new ObjectMapper().readTree("{\"genreId\": 2}"), null);
+
+        assertEquals(3L, version);
+        assertSame(drama, testMovie.getGenre());
+        assertEquals("The Matrix", testMovie.getTitle());
+        verify(genreRepository, never()).findById(any());
+        verify(validationService, never()).validateRating(any());
+        verify(eventPublisher, times(1)).publishEvent(any(MovieChangedEvent.class));
+    }
+
+    @Test
+    void patchMovie_WithNullTitle_ShouldThrowBeforeLoading() throws Exception {
+        assertThrows(IllegalArgumentException.class, () ->
+                movieService.patchMovie(1L, new ObjectMapper().readTree("{\"title\": null}"), null));
+        verify(movieRepository, never()).findById(any());
+    }
+
     @Test
     void deleteMovie_WithExistingId_ShouldDeleteMovie() {
-        when(movieRepository.existsById(1L)).thenReturn(true);
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
 
         movieService.deleteMovie(1L);
 
-        verify(movieRepository, times(1)).deleteById(1L);
+        verify(movieRepository, times(1)).delete(testMovie);
+        verify(eventPublisher, times(1)).publishEvent(any(MovieChangedEvent.class));
     }
 
     @Test
     void deleteMovie_WithNonExistingId_ShouldThrowException() {
-        when(movieRepository.existsById(999L)).thenReturn(false);
+        when(movieRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             movieService.deleteMovie(999L);
         });
+
+        verify(eventPublisher, never()).publishEvent(any());
     }
 }
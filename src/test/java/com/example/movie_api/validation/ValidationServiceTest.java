@@ -1,8 +1,15 @@
 package com.example.movie_api.validation;
 
+import com.example.movie_api.dto.GenreDto;
+import com.example.movie_api.dto.MovieDto;
+import com.example.movie_api.exception.PreconditionFailedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ValidationServiceTest {
@@ -160,4 +167,135 @@ class ValidationServiceTest {
     void validateFollowerCount_WithZeroCount_ShouldNotThrowException() {
         assertDoesNotThrow(() -> validationService.validateFollowerCount(0));
     }
+
+    // ========== Page Limit Validation Tests ==========
+
+    @Test
+    void validatePageLimit_WithValidLimit_ShouldNotThrowException() {
+        assertDoesNotThrow(() -> validationService.validatePageLimit(1));
+        assertDoesNotThrow(() -> validationService.validatePageLimit(1000));
+    }
+
+    @Test
+    void validatePageLimit_WithOutOfRangeLimit_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> validationService.validatePageLimit(0));
+        assertThrows(IllegalArgumentException.class, () -> validationService.validatePageLimit(1001));
+    }
+
+    @Test
+    void validateNotBlank_WithBlankValue_ShouldThrowException() {
+        assertDoesNotThrow(() -> validationService.validateNotBlank("Heat", ValidationMessages.MOVIE_TITLE_BLANK));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> validationService.validateNotBlank("  ", ValidationMessages.MOVIE_TITLE_BLANK));
+        assertEquals("Movie title cannot be blank", exception.getMessage());
+    }
+
+    @Test
+    void validateBulkSize_WithOutOfRangeSize_ShouldThrowException() {
+        assertDoesNotThrow(() -> validationService.validateBulkSize(1000));
+        assertThrows(IllegalArgumentException.class, () -> validationService.validateBulkSize(0));
+        assertThrows(IllegalArgumentException.class, () -> validationService.validateBulkSize(1001));
+    }
+
+    @Test
+    void validateTopCount_WithOutOfRangeCount_ShouldThrowException() {
+        assertDoesNotThrow(() -> validationService.validateTopCount(100));
+        assertThrows(IllegalArgumentException.class, () -> validationService.validateTopCount(0));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> validationService.validateTopCount(101));
+        assertEquals("Top movie count must be between 1 and 100", exception.getMessage());
+    }
+
+    // ========== Version Validation Tests ==========
+
+    @Test
+    void validateVersion_WithoutExpectation_ShouldNotThrowException() {
+        assertDoesNotThrow(() -> validationService.validateVersion(3L, null));
+    }
+
+    @Test
+    void validateVersion_WithMatchingVersion_ShouldNotThrowException() {
+        assertDoesNotThrow(() -> validationService.validateVersion(3L, 3L));
+    }
+
+    @Test
+    void validateVersion_WithStaleVersion_ShouldThrowException() {
+        assertThrows(PreconditionFailedException.class, () -> validationService.validateVersion(3L, 2L));
+    }
+
+    // ========== Batch Validation Tests ==========
+
+    @Test
+    void validateMovies_WithValidRows_ShouldReportNoErrors() {
+        ValidationReport report = validationService.validateMovies(List.of(movie("Heat", 8.3), movie("Ronin", 7.2)));
+
+        assertTrue(report.isValid());
+        assertEquals(2, report.getRowCount());
+        assertTrue(report.getErrors().isEmpty());
+        assertNull(report.messageFor(0));
+    }
+
+    @Test
+    void validateMovies_WithInvalidRows_ShouldReportEveryFailureByIndex() {
+        MovieDto blank = MovieDto.builder().title(" ").director("").rating(5.0).build();
+        ValidationReport report = validationService.validateMovies(
+                Arrays.asList(movie("Heat", 8.3), blank, null, movie("Ronin", 11.0)));
+
+        assertFalse(report.isValid());
+        assertEquals(4, report.getRowCount());
+        assertEquals(5, report.getErrorCount());
+        assertTrue(report.isValid(0));
+        assertFalse(report.isValid(1));
+        assertEquals("director: Director name cannot be blank; genreId: Genre ID cannot be null; "
+                + "title: Movie title cannot be blank", report.messageFor(1));
+        assertEquals("Row cannot be null", report.messageFor(2));
+
+        ValidationError error = report.getErrors().get(4);
+        assertEquals(3, error.getIndex());
+        assertEquals("rating", error.getField());
+        assertEquals(ValidationRule.Code.MAX, error.getCode());
+        assertEquals("Rating must be between 0.0 and 10.0", error.getMessage());
+    }
+
+    @Test
+    void validateMovies_WithStream_ShouldReportTooLowAndMissingRatings() {
+        ValidationReport report = validationService.validateMovies(
+                Stream.of(movie("Heat", -1.0), movie("Ronin", null), movie("Collateral", Double.NaN)));
+
+        assertEquals(ValidationRule.Code.MIN, report.getErrors().get(0).getCode());
+        assertEquals(ValidationRule.Code.REQUIRED, report.getErrors().get(1).getCode());
+        assertEquals(ValidationRule.Code.MIN, report.getErrors().get(2).getCode());
+    }
+
+    @Test
+    void validateGenres_WithInvalidRows_ShouldReportEveryFailureByIndex() {
+        ValidationReport report = validationService.validateGenres(List.of(
+                GenreDto.builder().name("Drama").followerCount(0).build(),
+                GenreDto.builder().name("A".repeat(101)).followerCount(-1).build(),
+                GenreDto.builder().name(" ").build()));
+
+        assertTrue(report.isValid(0));
+        assertEquals("followerCount: Follower count cannot be negative; "
+                + "name: Genre name cannot exceed 100 characters", report.messageFor(1));
+        assertEquals("followerCount: Follower count cannot be null; "
+                + "name: Genre name cannot be empty", report.messageFor(2));
+    }
+
+    @Test
+    void validateMovies_ShouldUseSameMessagesAsSingleRowChecks() {
+        GenreDto genre = GenreDto.builder().name(" ").followerCount(-1).build();
+        ValidationReport movies = validationService.validateMovies(List.of(movie("Heat", -1.0)));
+        ValidationReport genres = validationService.validateGenres(List.of(genre));
+
+        assertEquals(assertThrows(IllegalArgumentException.class,
+                () -> validationService.validateRating(-1.0)).getMessage(), movies.getErrors().get(0).getMessage());
+        assertEquals(assertThrows(IllegalArgumentException.class,
+                () -> validationService.validateFollowerCount(-1)).getMessage(), genres.getErrors().get(0).getMessage());
+        assertEquals(assertThrows(IllegalArgumentException.class,
+                () -> validationService.validateGenreName(" ")).getMessage(), genres.getErrors().get(1).getMessage());
+    }
+
+    private static MovieDto movie(String title, Double rating) {
+        return MovieDto.builder().title(title).director("Michael Mann").rating(rating).genreId(1L).build();
+    }
 }